@@ -0,0 +1,75 @@
+package com.ecommerce.account;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+
+/**
+ * Bloom filters over every registered username and email. A miss means the value is
+ * definitely free and needs no database lookup; a hit only means it might be taken, and the
+ * caller falls back to the exists query. Until the filters are seeded every value is a hit.
+ */
+@Component
+public class AccountAvailability {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountAvailability.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final BloomFilter usernames;
+    private final BloomFilter emails;
+
+    private volatile boolean ready;
+
+    public AccountAvailability(@Value("${accounts.availability.expected-users:1000000}") long expectedUsers,
+                               @Value("${accounts.availability.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.usernames = new BloomFilter(expectedUsers, falsePositiveRate);
+        this.emails = new BloomFilter(expectedUsers, falsePositiveRate);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        long[] count = new long[1];
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement("SELECT username, email FROM users");
+            statement.setFetchSize(1000);
+            return statement;
+        }, (RowCallbackHandler) rs -> {
+            usernames.add(rs.getString(1));
+            emails.add(rs.getString(2));
+            count[0]++;
+        }));
+        ready = true;
+        log.info("Account availability filters seeded with {} users", count[0]);
+    }
+
+    // Added before the insert, so a concurrent check never sees a committed user as free
+    public void accountCreated(String username, String email) {
+        usernames.add(username);
+        emails.add(email);
+    }
+
+    public boolean usernameMightBeTaken(String username) {
+        return !ready || usernames.mightContain(username);
+    }
+
+    public boolean emailMightBeTaken(String email) {
+        return !ready || emails.mightContain(email);
+    }
+}
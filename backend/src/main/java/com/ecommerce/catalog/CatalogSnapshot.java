@@ -0,0 +1,124 @@
+package com.ecommerce.catalog;
+
+import com.ecommerce.model.Category;
+import com.ecommerce.model.Product;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Immutable view of the whole catalog at a given version.
+ * Products are detached copies, so nothing handed out here is tracked by a persistence context.
+ * Nothing changes after construction. A product's {@code stock} is the value it was loaded or saved
+ * with; the live level is kept by {@link ProductCatalog}, see {@link ProductCatalog#withCurrentStock}.
+ */
+public final class CatalogSnapshot {
+
+    public static final CatalogSnapshot EMPTY = new CatalogSnapshot(0L, List.of(), List.of());
+
+    public static final Comparator<Product> BY_ID = Comparator.comparing(Product::getId);
+    public static final Comparator<Product> BY_PRICE = Comparator.comparing(Product::getPrice).thenComparing(Product::getId);
+
+    private final long version;
+    private final List<Product> products;
+    private final List<Product> productsByPrice;
+    private final Map<Long, Product> productsById;
+    private final Map<Long, List<Product>> productsByCategory;
+    private final Map<Long, List<Product>> productsByCategoryAndPrice;
+    private final Map<Long, Category> categoriesById;
+
+    private CatalogSnapshot(long version, Collection<Product> products, Collection<Category> categories) {
+        this.version = version;
+
+        Map<Long, Category> categoryMap = new LinkedHashMap<>();
+        for (Category category : categories) {
+            categoryMap.put(category.getId(), category);
+        }
+
+        TreeMap<Long, Product> sorted = new TreeMap<>();
+        for (Product product : products) {
+            sorted.put(product.getId(), product);
+        }
+
+        Map<Long, List<Product>> byCategory = new HashMap<>();
+        for (Product product : sorted.values()) {
+            if (product.getCategory() != null) {
+                byCategory.computeIfAbsent(product.getCategory().getId(), k -> new ArrayList<>()).add(product);
+            }
+        }
+        Map<Long, List<Product>> byCategoryAndPrice = new HashMap<>();
+        byCategory.forEach((categoryId, list) -> byCategoryAndPrice.put(categoryId, sortedCopy(list, BY_PRICE)));
+        byCategory.replaceAll((k, v) -> Collections.unmodifiableList(v));
+
+        this.products = List.copyOf(sorted.values());
+        this.productsByPrice = sortedCopy(this.products, BY_PRICE);
+        this.productsById = Collections.unmodifiableMap(sorted);
+        this.productsByCategory = Collections.unmodifiableMap(byCategory);
+        this.productsByCategoryAndPrice = Collections.unmodifiableMap(byCategoryAndPrice);
+        this.categoriesById = Collections.unmodifiableMap(categoryMap);
+    }
+
+    private static List<Product> sortedCopy(List<Product> products, Comparator<Product> order) {
+        List<Product> copy = new ArrayList<>(products);
+        copy.sort(order);
+        return Collections.unmodifiableList(copy);
+    }
+
+    static CatalogSnapshot of(long version, Collection<Product> products, Collection<Category> categories) {
+        return new CatalogSnapshot(version, products, categories);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public List<Product> getProducts() {
+        return products;
+    }
+
+    public List<Product> getProductsByPrice() {
+        return productsByPrice;
+    }
+
+    public Optional<Product> getProduct(Long id) {
+        return Optional.ofNullable(productsById.get(id));
+    }
+
+    public List<Product> getProductsByCategory(Long categoryId) {
+        return productsByCategory.getOrDefault(categoryId, List.of());
+    }
+
+    public List<Product> getProductsByCategoryAndPrice(Long categoryId) {
+        return productsByCategoryAndPrice.getOrDefault(categoryId, List.of());
+    }
+
+    public Optional<Category> getCategory(Long id) {
+        return Optional.ofNullable(categoriesById.get(id));
+    }
+
+    Collection<Category> getCategories() {
+        return categoriesById.values();
+    }
+
+    // Copy-on-write helpers used by ProductCatalog; the receiver is never modified
+
+    CatalogSnapshot withProduct(Product product) {
+        Map<Long, Product> next = new HashMap<>(productsById);
+        next.put(product.getId(), product);
+        return new CatalogSnapshot(version + 1, next.values(), categoriesById.values());
+    }
+
+    CatalogSnapshot withoutProduct(Long id) {
+        Map<Long, Product> next = new HashMap<>(productsById);
+        next.remove(id);
+        return new CatalogSnapshot(version + 1, next.values(), categoriesById.values());
+    }
+}
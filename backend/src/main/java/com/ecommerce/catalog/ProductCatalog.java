@@ -0,0 +1,174 @@
+package com.ecommerce.catalog;
+
+import com.ecommerce.model.Category;
+import com.ecommerce.model.Product;
+import com.ecommerce.repository.CategoryRepository;
+import com.ecommerce.repository.ProductRepository;
+import com.ecommerce.search.ProductSearchIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current {@link CatalogSnapshot}. Reads are a single volatile load and never
+ * touch the database; writers build a new snapshot and swap it in atomically.
+ * Stock changes on every checkout, so it lives beside the snapshot in one counter per product
+ * and reservations only touch the counters of their own lines.
+ */
+@Component
+public class ProductCatalog {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductSearchIndex searchIndex;
+
+    private final AtomicReference<CatalogSnapshot> current = new AtomicReference<>();
+
+    private final Map<Long, AtomicInteger> stock = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reload();
+    }
+
+    public CatalogSnapshot snapshot() {
+        CatalogSnapshot snapshot = current.get();
+        if (snapshot == null) {
+            synchronized (this) {
+                snapshot = current.get();
+                if (snapshot == null) {
+                    snapshot = load(0L);
+                    searchIndex.rebuild(snapshot.getProducts());
+                    current.set(snapshot);
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Rebuilds the snapshot from the database. Used at startup and after category changes,
+     * which can rename or cascade-delete many products at once.
+     */
+    public synchronized void reload() {
+        CatalogSnapshot previous = current.get();
+        CatalogSnapshot next = load(previous == null ? 0L : previous.getVersion() + 1);
+        searchIndex.rebuild(next.getProducts());
+        current.set(next);
+    }
+
+    public synchronized void productSaved(Product product) {
+        CatalogSnapshot snapshot = snapshot();
+        Product copy = copyOf(product, snapshot);
+        searchIndex.update(copy);
+        stock.computeIfAbsent(copy.getId(), id -> new AtomicInteger()).set(copy.getStock());
+        current.set(snapshot.withProduct(copy));
+    }
+
+    // Applies committed stock reservations
+    public void stockReserved(Map<Long, Integer> quantities) {
+        quantities.forEach((id, quantity) -> {
+            AtomicInteger level = stock.get(id);
+            if (level != null) {
+                level.addAndGet(-quantity);
+            }
+        });
+    }
+
+    /**
+     * Copy of a snapshot product carrying its current stock. Snapshot products are shared by every
+     * reader and keep the stock they were loaded with, so anything returned to a client or attached
+     * to an entity goes through here.
+     */
+    public Product withCurrentStock(Product product) {
+        Product copy = copyOf(product, product.getCategory());
+        AtomicInteger level = stock.get(product.getId());
+        if (level != null) {
+            copy.setStock(level.get());
+        }
+        return copy;
+    }
+
+    public List<Product> withCurrentStock(List<Product> products) {
+        List<Product> copies = new ArrayList<>(products.size());
+        for (Product product : products) {
+            copies.add(withCurrentStock(product));
+        }
+        return copies;
+    }
+
+    public synchronized void productDeleted(Long id) {
+        searchIndex.remove(id);
+        current.set(snapshot().withoutProduct(id));
+        stock.remove(id);
+    }
+
+    private CatalogSnapshot load(long version) {
+        List<Category> categories = new ArrayList<>();
+        for (Category category : categoryRepository.findAll()) {
+            categories.add(copyOf(category));
+        }
+        CatalogSnapshot base = CatalogSnapshot.of(version, List.of(), categories);
+
+        List<Product> products = new ArrayList<>();
+        Map<Long, Integer> levels = new HashMap<>();
+        for (Product product : productRepository.findAll()) {
+            Product copy = copyOf(product, base);
+            products.add(copy);
+            levels.put(copy.getId(), copy.getStock());
+        }
+        stock.keySet().retainAll(levels.keySet());
+        levels.forEach((id, level) -> stock.computeIfAbsent(id, k -> new AtomicInteger()).set(level));
+        return CatalogSnapshot.of(version, products, categories);
+    }
+
+    private Product copyOf(Product product, CatalogSnapshot snapshot) {
+        return copyOf(product, resolveCategory(product.getCategory(), snapshot));
+    }
+
+    private static Product copyOf(Product product, Category category) {
+        Product copy = new Product();
+        copy.setId(product.getId());
+        copy.setSku(product.getSku());
+        copy.setName(product.getName());
+        copy.setDescription(product.getDescription());
+        copy.setPrice(product.getPrice());
+        copy.setImageUrl(product.getImageUrl());
+        copy.setStock(product.getStock());
+        copy.setHotSku(product.getHotSku());
+        copy.setCategory(category);
+        return copy;
+    }
+
+    // Request bodies often carry a category with only its id set, so prefer the snapshot's copy
+    private Category resolveCategory(Category category, CatalogSnapshot snapshot) {
+        if (category == null || category.getId() == null) {
+            return null;
+        }
+        return snapshot.getCategory(category.getId())
+                .or(() -> categoryRepository.findById(category.getId()).map(this::copyOf))
+                .orElse(null);
+    }
+
+    private Category copyOf(Category category) {
+        Category copy = new Category();
+        copy.setId(category.getId());
+        copy.setName(category.getName());
+        copy.setDescription(category.getDescription());
+        return copy;
+    }
+}
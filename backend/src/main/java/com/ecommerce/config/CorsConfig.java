@@ -1,5 +1,8 @@
 package com.ecommerce.config;
 
+import com.ecommerce.dto.PageCursor;
+import com.ecommerce.security.RateLimitFilter;
+import com.ecommerce.service.OrderIdempotency;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.cors.CorsConfiguration;
@@ -17,6 +20,7 @@ public class CorsConfig {
         config.setAllowCredentials(true);
         config.setAllowedOrigins(Arrays.asList("http://localhost:3000", "http://localhost:5173"));
         config.setAllowedHeaders(Arrays.asList("*"));
+        config.setExposedHeaders(Arrays.asList(PageCursor.HEADER, OrderIdempotency.REPLAYED_HEADER, RateLimitFilter.RETRY_AFTER_HEADER));
         config.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -0,0 +1,72 @@
+package com.ecommerce.config;
+
+import com.ecommerce.metrics.DatabaseWorkInterceptor;
+import com.ecommerce.metrics.EntityLoadInterceptor;
+import com.ecommerce.metrics.StatementCountingInspector;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Wiring for the Prometheus endpoint beyond what Boot binds on its own (request latency,
+ * Hikari pool, Hibernate statistics): per-request database work and cache hit ratios.
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private DatabaseWorkInterceptor databaseWorkInterceptor;
+
+    @Autowired
+    @Lazy
+    private EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(databaseWorkInterceptor).addPathPatterns("/api/**");
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer requestDatabaseWorkCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new StatementCountingInspector());
+            properties.put(AvailableSettings.INTERCEPTOR, new EntityLoadInterceptor());
+        };
+    }
+
+    @Bean
+    public MeterBinder entityCacheHitRatios() {
+        return registry -> {
+            hitRatio(registry, "second-level", s -> ratio(s.getSecondLevelCacheHitCount(), s.getSecondLevelCacheMissCount()));
+            hitRatio(registry, "query", s -> ratio(s.getQueryCacheHitCount(), s.getQueryCacheMissCount()));
+        };
+    }
+
+    private void hitRatio(MeterRegistry registry, String cache, ToDoubleFunction<Statistics> ratio) {
+        Gauge.builder("hibernate.cache.hit.ratio", this, config -> ratio.applyAsDouble(config.statistics()))
+                .description("Hits over lookups since startup")
+                .tag("cache", cache)
+                .register(registry);
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private static double ratio(long hits, long misses) {
+        return hits + misses == 0 ? 0.0 : (double) hits / (hits + misses);
+    }
+}
@@ -1,8 +1,16 @@
 package com.ecommerce.config;
 
+import com.ecommerce.dto.PageCursor;
+import com.ecommerce.security.BoundedPasswordEncoder;
 import com.ecommerce.security.JwtAuthenticationFilter;
+import com.ecommerce.security.RateLimitFilter;
+import com.ecommerce.service.OrderIdempotency;
 import com.ecommerce.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
@@ -13,7 +21,6 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -36,9 +43,22 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
-    @Bean
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
+    @Value("${security.bcrypt.strength:10}")
+    private int bcryptStrength;
+
+    @Value("${security.bcrypt.threads:0}")
+    private int bcryptThreads;
+
+    @Value("${security.bcrypt.queue-capacity:64}")
+    private int bcryptQueueCapacity;
+
+    @Bean(destroyMethod = "shutdown")
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        int threads = bcryptThreads > 0 ? bcryptThreads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(bcryptStrength, threads, bcryptQueueCapacity);
     }
 
     @Bean
@@ -46,6 +66,7 @@ public class SecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setUserDetailsPasswordService(userService);
         return authProvider;
     }
 
@@ -60,6 +81,7 @@ public class SecurityConfig {
         configuration.setAllowedOrigins(Arrays.asList("http://localhost:3000", "http://localhost:5173", "http://localhost:5174"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        configuration.setExposedHeaders(Arrays.asList(PageCursor.HEADER, OrderIdempotency.REPLAYED_HEADER, RateLimitFilter.RETRY_AFTER_HEADER));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
 
@@ -79,9 +101,12 @@ public class SecurityConfig {
                         .requestMatchers("/api/products/**").permitAll()
                         .requestMatchers("/api/categories/**").permitAll()
                         .requestMatchers("/api/orders/**").permitAll()
+                        // Only served on the loopback-bound management port
+                        .requestMatchers(EndpointRequest.to(HealthEndpoint.class, PrometheusScrapeEndpoint.class)).permitAll()
                         .anyRequest().authenticated())
                 .authenticationProvider(authenticationProvider())
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
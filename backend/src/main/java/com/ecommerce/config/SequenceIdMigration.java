@@ -0,0 +1,61 @@
+package com.ecommerce.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.DatabaseStructure;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Migration path from IDENTITY columns to pooled sequences. {@code ddl-auto} creates each
+ * {@code <table>_seq} starting at 1, which would hand out ids that already exist in tables
+ * filled before the switch. On startup, before anything is inserted, every sequence that is
+ * behind the highest id of its table is restarted past it. The old identity defaults on the
+ * id columns are left in place and are simply no longer used.
+ */
+@Component
+public class SequenceIdMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(SequenceIdMigration.class);
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void alignSequences() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        Dialect dialect = sessionFactory.getJdbcServices().getDialect();
+        sessionFactory.getMappingMetamodel().forEachEntityDescriptor(persister -> {
+            if (persister.getGenerator() instanceof SequenceStyleGenerator generator
+                    && persister instanceof AbstractEntityPersister entity) {
+                align(dialect, generator.getDatabaseStructure(), entity.getTableName(),
+                        entity.getIdentifierColumnNames()[0]);
+            }
+        });
+    }
+
+    private void align(Dialect dialect, DatabaseStructure structure, String table, String idColumn) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(" + idColumn + ") FROM " + table, Long.class);
+        if (maxId == null) {
+            return;
+        }
+        String sequence = structure.getPhysicalName().render();
+        // Burns one block per startup; the pooled optimizer hands out ids above the value read here
+        Long next = jdbcTemplate.queryForObject(dialect.getSequenceSupport().getSequenceNextValString(sequence), Long.class);
+        if (next != null && next < maxId) {
+            long restart = maxId + structure.getIncrementSize();
+            jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + restart);
+            log.info("Sequence {} moved past existing {} ids, restarting at {}", sequence, table, restart);
+        }
+    }
+}
@@ -5,9 +5,12 @@ import com.ecommerce.dto.LoginRequest;
 import com.ecommerce.dto.SignupRequest;
 import com.ecommerce.model.User;
 import com.ecommerce.security.JwtUtil;
+import com.ecommerce.security.PasswordHashingRejectedException;
 import com.ecommerce.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -73,6 +76,13 @@ public class AuthController {
                     savedUser.getFullName());
 
             return ResponseEntity.ok(response);
+        } catch (PasswordHashingRejectedException e) {
+            return overloaded(e);
+        } catch (DataIntegrityViolationException e) {
+            // Lost a race with a concurrent signup for the same username or email
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "Username or email is already taken!");
+            return ResponseEntity.badRequest().body(error);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("message", "Error creating user: " + e.getMessage());
@@ -80,6 +90,20 @@ public class AuthController {
         }
     }
 
+    // Used by the signup form while typing; values the filter has never seen cost no query
+    @GetMapping("/availability")
+    public ResponseEntity<?> checkAvailability(@RequestParam(required = false) String username,
+                                               @RequestParam(required = false) String email) {
+        Map<String, Boolean> availability = new HashMap<>();
+        if (username != null && !username.isBlank()) {
+            availability.put("username", !userService.existsByUsername(username));
+        }
+        if (email != null && !email.isBlank()) {
+            availability.put("email", !userService.existsByEmail(email));
+        }
+        return ResponseEntity.ok(availability);
+    }
+
     @PostMapping("/login")
     public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
         try {
@@ -103,6 +127,8 @@ public class AuthController {
                     user.getFullName());
 
             return ResponseEntity.ok(response);
+        } catch (PasswordHashingRejectedException e) {
+            return overloaded(e);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("message", "Invalid username or password");
@@ -134,4 +160,12 @@ public class AuthController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
         }
     }
+
+    private ResponseEntity<?> overloaded(PasswordHashingRejectedException e) {
+        Map<String, String> error = new HashMap<>();
+        error.put("message", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(PasswordHashingRejectedException.RETRY_AFTER_SECONDS))
+                .body(error);
+    }
 }
@@ -0,0 +1,31 @@
+package com.ecommerce.controller;
+
+import com.ecommerce.service.EntityCacheService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getStatistics() {
+        return ResponseEntity.ok(entityCacheService.statistics());
+    }
+
+    // Drops every cached entity and query result and rebuilds the catalog snapshot; admins only,
+    // since every request afterwards goes to the database until the caches warm up again
+    @DeleteMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> evictAll() {
+        entityCacheService.evictAll();
+        return ResponseEntity.noContent().build();
+    }
+}
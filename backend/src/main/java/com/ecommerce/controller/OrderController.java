@@ -1,13 +1,29 @@
 package com.ecommerce.controller;
 
+import com.ecommerce.dto.BulkOrderUpdateRequest;
+import com.ecommerce.dto.KeysetPage;
 import com.ecommerce.dto.OrderDTO;
+import com.ecommerce.dto.OrderState;
+import com.ecommerce.dto.PageCursor;
+import com.ecommerce.metrics.RequestDatabaseWork;
+import com.ecommerce.metrics.StatementBudget;
 import com.ecommerce.model.Order;
+import com.ecommerce.service.IdempotencyKeyMismatchException;
+import com.ecommerce.service.OrderBulkUpdates;
+import com.ecommerce.service.OrderEventBroadcaster;
+import com.ecommerce.service.OrderExportService;
+import com.ecommerce.service.OrderIdempotency;
 import com.ecommerce.service.OrderService;
+import com.ecommerce.service.OrderVersionConflictException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -20,39 +36,102 @@ public class OrderController {
     @Autowired
     private OrderService orderService;
 
-    // Get all orders with optional filtering
+    @Autowired
+    private OrderIdempotency orderIdempotency;
+
+    @Autowired
+    private OrderEventBroadcaster orderEvents;
+
+    @Autowired
+    private OrderExportService orderExportService;
+
+    @Autowired
+    private OrderBulkUpdates orderBulkUpdates;
+
+    // Get all orders with optional filtering, newest first, paged by keyset (next cursor in X-Next-Cursor)
     @GetMapping
+    @StatementBudget(6)
     public ResponseEntity<List<Order>> getAllOrders(
             @RequestParam(required = false) String email,
             @RequestParam(required = false) String status,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dateFrom,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dateTo) {
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dateTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
 
-        if (email != null && status != null) {
-            return ResponseEntity.ok(orderService.getOrdersByEmailAndStatus(email, status));
-        } else if (email != null) {
-            return ResponseEntity.ok(orderService.getOrdersByEmail(email));
-        } else if (status != null) {
-            return ResponseEntity.ok(orderService.getOrdersByStatus(status));
-        } else if (dateFrom != null && dateTo != null) {
-            return ResponseEntity.ok(orderService.getOrdersByDateRange(dateFrom, dateTo));
+        int pageSize = KeysetPage.clampLimit(limit);
+        KeysetPage<Order> page;
+        try {
+            if (email != null && status != null) {
+                page = orderService.getOrdersByEmailAndStatus(email, status, cursor, pageSize);
+            } else if (email != null) {
+                page = orderService.getOrdersByEmail(email, cursor, pageSize);
+            } else if (status != null) {
+                page = orderService.getOrdersByStatus(status, cursor, pageSize);
+            } else if (dateFrom != null && dateTo != null) {
+                page = orderService.getOrdersByDateRange(dateFrom, dateTo, cursor, pageSize);
+            } else {
+                page = orderService.getAllOrders(cursor, pageSize);
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         }
-
-        return ResponseEntity.ok(orderService.getAllOrders());
+        return toResponse(page);
     }
 
-    // Search orders
+    // Search orders, newest first, paged like the order list
     @GetMapping("/search")
-    public ResponseEntity<List<Order>> searchOrders(@RequestParam String query) {
-        return ResponseEntity.ok(orderService.searchOrders(query));
+    @StatementBudget(6)
+    public ResponseEntity<List<Order>> searchOrders(
+            @RequestParam String query,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        KeysetPage<Order> page;
+        try {
+            page = orderService.searchOrders(query, cursor, KeysetPage.clampLimit(limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return toResponse(page);
+    }
+
+    // Export orders flattened to one line per item, streamed as CSV or NDJSON
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(defaultValue = OrderExportService.CSV) String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dateFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dateTo) {
+        boolean ndjson = OrderExportService.NDJSON.equals(format);
+        if (!ndjson && !OrderExportService.CSV.equals(format)) {
+            return ResponseEntity.badRequest().build();
+        }
+        StreamingResponseBody body = out -> orderExportService.export(format, dateFrom, dateTo, out);
+        return ResponseEntity.ok()
+                .contentType(ndjson ? MediaType.parseMediaType("application/x-ndjson") : MediaType.parseMediaType("text/csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders." + format + "\"")
+                .body(body);
     }
 
     // Get order statistics
     @GetMapping("/stats")
-    public ResponseEntity<Map<String, Long>> getOrderStatistics() {
+    public ResponseEntity<Map<String, Object>> getOrderStatistics() {
         return ResponseEntity.ok(orderService.getOrderStatistics());
     }
 
+    // Stream status, payment and tracking changes for all orders of a customer
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamCustomerEvents(@RequestParam String email) {
+        return orderEvents.subscribeToCustomer(email);
+    }
+
+    // Stream changes for one order, starting with its current state
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamOrderEvents(@PathVariable Long id) {
+        return orderService.getOrderById(id)
+                .map(order -> ResponseEntity.ok(orderEvents.subscribeToOrder(order)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     // Get order by ID
     @GetMapping("/{id}")
     public ResponseEntity<OrderDTO> getOrderById(@PathVariable Long id) {
@@ -63,24 +142,36 @@ public class OrderController {
 
     // Create new order
     @PostMapping
-    public ResponseEntity<Order> createOrder(@RequestBody Order order) {
+    public ResponseEntity<?> createOrder(
+            @RequestBody Order order,
+            @RequestHeader(value = OrderIdempotency.HEADER, required = false) String idempotencyKey) {
         try {
+            if (idempotencyKey != null) {
+                OrderIdempotency.Result result = orderIdempotency.createOrder(idempotencyKey, order);
+                return ResponseEntity.status(HttpStatus.CREATED)
+                        .header(OrderIdempotency.REPLAYED_HEADER, String.valueOf(result.replayed()))
+                        .body(result.order());
+            }
             Order created = orderService.createOrder(order);
             return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        } catch (IdempotencyKeyMismatchException e) {
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(Map.of("error", e.getMessage()));
         } catch (RuntimeException e) {
-            return ResponseEntity.badRequest().body(null);
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
 
-    // Update order status
+    // Update order status; send "version" to fail with 409 if the order changed since it was read
     @PatchMapping("/{id}/status")
     public ResponseEntity<?> updateOrderStatus(
             @PathVariable Long id,
             @RequestBody Map<String, String> statusUpdate) {
         try {
             String status = statusUpdate.get("status");
-            Order updated = orderService.updateOrderStatus(id, status);
+            OrderState updated = orderService.updateOrderStatus(id, status, expectedVersion(statusUpdate));
             return ResponseEntity.ok(updated);
+        } catch (OrderVersionConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
@@ -93,8 +184,10 @@ public class OrderController {
             @RequestBody Map<String, String> paymentUpdate) {
         try {
             String paymentStatus = paymentUpdate.get("paymentStatus");
-            Order updated = orderService.updatePaymentStatus(id, paymentStatus);
+            OrderState updated = orderService.updatePaymentStatus(id, paymentStatus, expectedVersion(paymentUpdate));
             return ResponseEntity.ok(updated);
+        } catch (OrderVersionConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
@@ -114,10 +207,43 @@ public class OrderController {
                 estimatedDelivery = LocalDateTime.parse(estimatedDeliveryStr);
             }
 
-            Order updated = orderService.updateTracking(id, trackingNumber, estimatedDelivery);
+            OrderState updated = orderService.updateTracking(id, trackingNumber, estimatedDelivery, expectedVersion(trackingUpdate));
             return ResponseEntity.ok(updated);
+        } catch (OrderVersionConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Apply many status, payment or tracking changes at once; each operation succeeds or fails on its own
+    @PatchMapping("/bulk")
+    @StatementBudget(RequestDatabaseWork.UNLIMITED)
+    public ResponseEntity<?> bulkUpdate(@RequestBody BulkOrderUpdateRequest request) {
+        try {
+            return ResponseEntity.ok(orderBulkUpdates.apply(request.getOperations()));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
+
+    private static Long expectedVersion(Map<String, String> body) {
+        String version = body.get("version");
+        if (version == null || version.isEmpty()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(version);
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid version: " + version);
+        }
+    }
+
+    private ResponseEntity<List<Order>> toResponse(KeysetPage<Order> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(PageCursor.HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
 }
@@ -1,13 +1,22 @@
 package com.ecommerce.controller;
 
+import com.ecommerce.dto.KeysetPage;
+import com.ecommerce.dto.PageCursor;
+import com.ecommerce.dto.ProductImportReport;
+import com.ecommerce.metrics.RequestDatabaseWork;
+import com.ecommerce.metrics.StatementBudget;
 import com.ecommerce.model.Product;
+import com.ecommerce.service.ProductImportService;
 import com.ecommerce.service.ProductService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/products")
@@ -16,18 +25,30 @@ public class ProductController {
     @Autowired
     private ProductService productService;
 
+    @Autowired
+    private ProductImportService productImportService;
+
+    // Paged by keyset; the cursor for the next page is returned in the X-Next-Cursor header
     @GetMapping
     public ResponseEntity<List<Product>> getAllProducts(
             @RequestParam(required = false) Long categoryId,
-            @RequestParam(required = false) String search) {
-
-        if (categoryId != null) {
-            return ResponseEntity.ok(productService.getProductsByCategory(categoryId));
-        } else if (search != null && !search.isEmpty()) {
-            return ResponseEntity.ok(productService.searchProducts(search));
-        } else {
-            return ResponseEntity.ok(productService.getAllProducts());
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+
+        int pageSize = KeysetPage.clampLimit(limit);
+        KeysetPage<Product> page;
+        try {
+            if (categoryId == null && search != null && !search.isEmpty()) {
+                page = productService.searchProducts(search, cursor, pageSize);
+            } else {
+                page = productService.getProductPage(categoryId, "price".equals(sort), cursor, pageSize);
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         }
+        return toResponse(page);
     }
 
     @GetMapping("/{id}")
@@ -43,6 +64,30 @@ public class ProductController {
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    // Bulk upsert by sku from a CSV (header row required) or NDJSON body, read as it streams in.
+    // Form content types are refused: the container would consume the body as parameters
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson", MediaType.TEXT_PLAIN_VALUE,
+            MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    @StatementBudget(RequestDatabaseWork.UNLIMITED)
+    public ResponseEntity<?> importProducts(@RequestParam(defaultValue = ProductImportService.CSV) String format,
+                                            InputStream body) {
+        try {
+            return ResponseEntity.ok(productImportService.importProducts(format, body));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Progress of the running import, or the outcome of the last one
+    @GetMapping("/import")
+    public ResponseEntity<ProductImportReport> getImportProgress() {
+        return productImportService.latest()
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Product> updateProduct(@PathVariable Long id, @RequestBody Product product) {
         try {
@@ -58,4 +103,12 @@ public class ProductController {
         productService.deleteProduct(id);
         return ResponseEntity.noContent().build();
     }
+
+    private ResponseEntity<List<Product>> toResponse(KeysetPage<Product> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(PageCursor.HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
 }
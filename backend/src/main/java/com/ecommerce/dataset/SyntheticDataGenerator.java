@@ -0,0 +1,424 @@
+package com.ecommerce.dataset;
+
+import com.ecommerce.model.Category;
+import com.ecommerce.model.Order;
+import com.ecommerce.model.OrderItem;
+import com.ecommerce.model.OrderStatus;
+import com.ecommerce.model.Product;
+import com.ecommerce.model.User;
+import com.ecommerce.repository.CategoryRepository;
+import com.ecommerce.service.EntityIds;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fills the schema with a production-sized catalog, customer base and order history for
+ * performance testing. Enabled by the {@code dataset} profile or {@code --dataset.generate=true};
+ * sizes and skew come from the {@code dataset.*} properties. Product popularity and repeat
+ * customers follow Zipf distributions, orders have one to {@code max-items-per-order} lines, and
+ * order dates ramp up towards today with statuses that fit their age. Rows are written as JDBC
+ * batches from several threads, one transaction per batch, with ids from the entity sequences.
+ * It runs before the catalog, search index and statistics are built at startup, and does
+ * nothing when a generated dataset is already present.
+ */
+@Component
+@ConditionalOnProperty(name = "dataset.generate", havingValue = "true")
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    static final String SKU_PREFIX = "DS-";
+    static final String EMAIL_DOMAIN = "@dataset.example";
+
+    private static final String PRODUCT_SQL = "INSERT INTO products " +
+            "(id, sku, name, description, price, image_url, stock, category_id, hot_sku) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int[] PRODUCT_TYPES = {Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+            Types.NUMERIC, Types.VARCHAR, Types.INTEGER, Types.BIGINT, Types.BOOLEAN};
+
+    private static final String USER_SQL = "INSERT INTO users " +
+            "(id, username, email, password, full_name, phone, address, created_at, updated_at, enabled) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int[] USER_TYPES = {Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+            Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP, Types.TIMESTAMP, Types.BOOLEAN};
+
+    private static final String ROLE_SQL = "INSERT INTO user_roles (user_id, role) VALUES (?, 'ROLE_USER')";
+
+    private static final String ORDER_SQL = "INSERT INTO orders " +
+            "(id, customer_name, customer_email, customer_phone, shipping_address, total_amount, status, " +
+            "payment_method, payment_status, tracking_number, estimated_delivery_date, delivered_date, " +
+            "order_date, last_updated, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+    private static final int[] ORDER_TYPES = {Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+            Types.VARCHAR, Types.NUMERIC, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+            Types.TIMESTAMP, Types.TIMESTAMP, Types.TIMESTAMP, Types.TIMESTAMP};
+
+    private static final String ITEM_SQL = "INSERT INTO order_items (id, order_id, product_id, quantity, price) " +
+            "VALUES (?, ?, ?, ?, ?)";
+    private static final int[] ITEM_TYPES = {Types.BIGINT, Types.BIGINT, Types.BIGINT, Types.INTEGER, Types.NUMERIC};
+
+    private static final String[] CATEGORY_NAMES = {"Garden", "Toys", "Beauty", "Grocery", "Automotive", "Office",
+            "Pet Supplies", "Music", "Jewelry", "Tools", "Baby", "Health", "Outdoors", "Video Games", "Shoes", "Luggage"};
+    private static final String[] ADJECTIVES = {"Classic", "Compact", "Deluxe", "Eco", "Ergonomic", "Heavy-Duty",
+            "Lightweight", "Portable", "Premium", "Rugged", "Sleek", "Smart", "Vintage", "Wireless"};
+    private static final String[] NOUNS = {"Backpack", "Blender", "Camera", "Chair", "Desk Lamp", "Headphones",
+            "Jacket", "Kettle", "Keyboard", "Mug", "Notebook", "Speaker", "Sneakers", "Tent", "Watch", "Water Bottle"};
+    private static final String[] FIRST_NAMES = {"Aarav", "Amelia", "Carlos", "Chen", "Fatima", "Hannah", "Ivan",
+            "Kenji", "Leila", "Lucas", "Maya", "Noah", "Olivia", "Priya", "Sofia", "Yusuf"};
+    private static final String[] LAST_NAMES = {"Almeida", "Brown", "Das", "Garcia", "Ito", "Khan", "Kowalski",
+            "Martin", "Nguyen", "Okafor", "Petrov", "Rossi", "Schmidt", "Singh", "Smith", "Wang"};
+    private static final String[] STREETS = {"Oak Street", "Maple Avenue", "Station Road", "Park Lane", "High Street",
+            "Lake Drive", "Hill Road", "Church Street"};
+    private static final String[] CITIES = {"Springfield", "Riverton", "Lakeside", "Fairview", "Greenville",
+            "Brookfield", "Ashford", "Milton"};
+    private static final String[] PAYMENT_METHODS = {"CREDIT_CARD", "UPI", "DEBIT_CARD", "COD", "NET_BANKING"};
+    private static final int[] PAYMENT_WEIGHTS = {40, 25, 15, 15, 5};
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityIds entityIds;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Value("${dataset.products:100000}")
+    private int productCount;
+
+    @Value("${dataset.users:50000}")
+    private int userCount;
+
+    @Value("${dataset.orders:1000000}")
+    private int orderCount;
+
+    @Value("${dataset.categories:20}")
+    private int categoryCount;
+
+    @Value("${dataset.product-skew:1.1}")
+    private double productSkew;
+
+    @Value("${dataset.customer-skew:0.8}")
+    private double customerSkew;
+
+    @Value("${dataset.max-items-per-order:8}")
+    private int maxItemsPerOrder;
+
+    @Value("${dataset.days:730}")
+    private int days;
+
+    @Value("${dataset.user-password:password123}")
+    private String userPassword;
+
+    @Value("${dataset.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${dataset.threads:0}")
+    private int threads;
+
+    @Value("${dataset.seed:42}")
+    private long seed;
+
+    @Value("${dataset.exit-when-done:false}")
+    private boolean exitWhenDone;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int poolSize;
+
+    // Written by one batch per index range, read once every batch has completed
+    private long[] productIds;
+    private long[] productCents;
+
+    // Callback for one batch; runs inside its own transaction
+    private interface BatchWriter {
+        void write(int from, int to, SplittableRandom random);
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        if (!jdbcTemplate.queryForList("SELECT id FROM products WHERE sku = ?", Long.class, sku(0)).isEmpty()) {
+            log.info("Synthetic dataset already present, nothing generated");
+        } else {
+            generate();
+        }
+        if (exitWhenDone) {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+
+    private void generate() throws InterruptedException, ExecutionException {
+        if (orderCount > 0 && (productCount < 1 || userCount < 1)) {
+            throw new IllegalStateException("dataset.orders needs at least one product and one user");
+        }
+        // Each worker holds one connection; leave some for the rest of startup
+        int workers = threads > 0 ? threads : Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), poolSize - 2));
+        log.info("Generating {} products, {} users and {} orders on {} threads", productCount, userCount, orderCount, workers);
+        long started = System.nanoTime();
+
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        try {
+            long[] categoryIds = categories();
+            ZipfSampler categorySampler = new ZipfSampler(categoryIds.length, 0.7);
+            productIds = new long[productCount];
+            productCents = new long[productCount];
+            inBatches(pool, "products", productCount, (from, to, random) -> writeProducts(from, to, random, categoryIds, categorySampler));
+
+            String passwordHash = passwordEncoder.encode(userPassword);
+            inBatches(pool, "users", userCount, (from, to, random) -> writeUsers(from, to, passwordHash));
+
+            // Popularity is assigned to products in random order, not by id
+            int[] byRank = shuffledIndexes(productCount, new SplittableRandom(seed));
+            ZipfSampler productSampler = new ZipfSampler(productCount, productSkew);
+            ZipfSampler customerSampler = new ZipfSampler(userCount, customerSkew);
+            LocalDateTime now = LocalDateTime.now();
+            inBatches(pool, "orders", orderCount,
+                    (from, to, random) -> writeOrders(from, to, random, now, byRank, productSampler, customerSampler));
+        } finally {
+            pool.shutdownNow();
+        }
+        log.info("Synthetic dataset generated in {} s", (System.nanoTime() - started) / 1_000_000_000);
+    }
+
+    private void inBatches(ExecutorService pool, String what, int total, BatchWriter writer)
+            throws InterruptedException, ExecutionException {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        AtomicLong written = new AtomicLong();
+        List<Future<?>> batches = new ArrayList<>();
+        for (int start = 0; start < total; start += batchSize) {
+            int from = start;
+            int to = Math.min(total, start + batchSize);
+            batches.add(pool.submit(() -> {
+                // Seeded by position, so the same settings produce the same data
+                SplittableRandom random = new SplittableRandom(Objects.hash(seed, what, from));
+                transaction.executeWithoutResult(status -> writer.write(from, to, random));
+                long done = written.addAndGet(to - from);
+                if (done * 10 / total != (done - (to - from)) * 10 / total) {
+                    log.info("Generated {} / {} {}", done, total, what);
+                }
+            }));
+        }
+        for (Future<?> batch : batches) {
+            batch.get();
+        }
+    }
+
+    private long[] categories() {
+        List<Category> categories = new ArrayList<>(categoryRepository.findAll());
+        Set<String> names = new HashSet<>();
+        categories.forEach(category -> names.add(category.getName()));
+        // Names stay unique, since categories are looked up by name
+        List<Category> created = new ArrayList<>();
+        for (int i = 0; categories.size() + created.size() < categoryCount; i++) {
+            String name = CATEGORY_NAMES[i % CATEGORY_NAMES.length]
+                    + (i < CATEGORY_NAMES.length ? "" : " " + (i / CATEGORY_NAMES.length + 1));
+            if (names.add(name)) {
+                Category category = new Category();
+                category.setName(name);
+                category.setDescription("Generated " + name.toLowerCase(Locale.ROOT));
+                created.add(category);
+            }
+        }
+        categories.addAll(categoryRepository.saveAll(created));
+        return categories.stream().mapToLong(Category::getId).toArray();
+    }
+
+    private void writeProducts(int from, int to, SplittableRandom random, long[] categoryIds, ZipfSampler categorySampler) {
+        long[] ids = entityIds.allocate(Product.class, to - from);
+        List<Object[]> rows = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            // Log-normal prices: mostly tens of dollars with a long tail of expensive items
+            long cents = Math.max(99, Math.min(500_000, Math.round(Math.exp(3.4 + random.nextGaussian()) * 100)));
+            productIds[i] = ids[i - from];
+            productCents[i] = cents;
+            String name = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + NOUNS[random.nextInt(NOUNS.length)] + " " + (i + 1);
+            rows.add(new Object[]{ids[i - from], sku(i), name, "Synthetic product " + (i + 1) + " for load testing",
+                    BigDecimal.valueOf(cents, 2), null, random.nextInt(1000) + 10,
+                    categoryIds[categorySampler.sample(random)], false});
+        }
+        jdbcTemplate.batchUpdate(PRODUCT_SQL, rows, PRODUCT_TYPES);
+    }
+
+    private void writeUsers(int from, int to, String passwordHash) {
+        long[] ids = entityIds.allocate(User.class, to - from);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> users = new ArrayList<>(to - from);
+        List<Object[]> roles = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            long id = ids[i - from];
+            users.add(new Object[]{id, "shopper" + i, email(i), passwordHash, customerName(i), phone(i), address(i),
+                    now, now, true});
+            roles.add(new Object[]{id});
+        }
+        jdbcTemplate.batchUpdate(USER_SQL, users, USER_TYPES);
+        jdbcTemplate.batchUpdate(ROLE_SQL, roles, new int[]{Types.BIGINT});
+    }
+
+    private void writeOrders(int from, int to, SplittableRandom random, LocalDateTime now, int[] byRank,
+                             ZipfSampler productSampler, ZipfSampler customerSampler) {
+        long[] ids = entityIds.allocate(Order.class, to - from);
+        List<Object[]> orders = new ArrayList<>(to - from);
+        List<Object[]> items = new ArrayList<>((to - from) * 3);
+        Set<Integer> lines = new HashSet<>();
+
+        for (int i = from; i < to; i++) {
+            long orderId = ids[i - from];
+            int customer = customerSampler.sample(random);
+
+            // Order volume grows towards today: the age density falls linearly over the window
+            double ageDays = days * (1 - Math.sqrt(random.nextDouble()));
+            LocalDateTime orderDate = now.minusSeconds((long) (ageDays * 86_400));
+
+            // Mostly one or two lines, geometric tail up to the cap, no product twice
+            int lineCount = 1;
+            while (lineCount < maxItemsPerOrder && lineCount < productCount && random.nextDouble() < 0.45) {
+                lineCount++;
+            }
+            lines.clear();
+            while (lines.size() < lineCount) {
+                lines.add(byRank[productSampler.sample(random)]);
+            }
+            long totalCents = 0;
+            for (int product : lines) {
+                int roll = random.nextInt(100);
+                int quantity = roll < 80 ? 1 : roll < 95 ? 2 : 3 + random.nextInt(3);
+                totalCents += productCents[product] * quantity;
+                items.add(new Object[]{null, orderId, productIds[product], quantity, BigDecimal.valueOf(productCents[product], 2)});
+            }
+
+            OrderStatus status = status(ageDays, random);
+            String paymentMethod = PAYMENT_METHODS[weighted(PAYMENT_WEIGHTS, random)];
+            boolean cod = "COD".equals(paymentMethod);
+            String paymentStatus = switch (status) {
+                case DELIVERED -> "COMPLETED";
+                case CANCELLED -> cod ? "PENDING" : "REFUNDED";
+                default -> cod ? "PENDING" : "COMPLETED";
+            };
+            boolean shipped = status == OrderStatus.SHIPPED || status == OrderStatus.DELIVERED;
+            LocalDateTime delivered = status == OrderStatus.DELIVERED
+                    ? min(orderDate.plusHours(48 + random.nextInt(120)), now) : null;
+            LocalDateTime lastUpdated = delivered != null ? delivered : min(orderDate.plusHours(random.nextInt(24)), now);
+
+            orders.add(new Object[]{orderId, customerName(customer), email(customer), phone(customer), address(customer),
+                    BigDecimal.valueOf(totalCents, 2), status.name(), paymentMethod, paymentStatus,
+                    shipped ? "TRK" + orderId : null,
+                    shipped ? Timestamp.valueOf(orderDate.plusDays(5)) : null,
+                    delivered == null ? null : Timestamp.valueOf(delivered),
+                    Timestamp.valueOf(orderDate), Timestamp.valueOf(lastUpdated)});
+        }
+
+        long[] itemIds = entityIds.allocate(OrderItem.class, items.size());
+        for (int i = 0; i < items.size(); i++) {
+            items.get(i)[0] = itemIds[i];
+        }
+        jdbcTemplate.batchUpdate(ORDER_SQL, orders, ORDER_TYPES);
+        jdbcTemplate.batchUpdate(ITEM_SQL, items, ITEM_TYPES);
+    }
+
+    // Recent orders are still moving through the pipeline; older ones have settled
+    private static OrderStatus status(double ageDays, SplittableRandom random) {
+        int roll = random.nextInt(100);
+        if (ageDays < 1) {
+            return roll < 50 ? OrderStatus.PENDING : roll < 88 ? OrderStatus.CONFIRMED : OrderStatus.CANCELLED;
+        }
+        if (ageDays < 4) {
+            return roll < 5 ? OrderStatus.PENDING : roll < 25 ? OrderStatus.CONFIRMED
+                    : roll < 90 ? OrderStatus.SHIPPED : OrderStatus.CANCELLED;
+        }
+        if (ageDays < 10) {
+            return roll < 30 ? OrderStatus.SHIPPED : roll < 92 ? OrderStatus.DELIVERED : OrderStatus.CANCELLED;
+        }
+        return roll < 93 ? OrderStatus.DELIVERED : OrderStatus.CANCELLED;
+    }
+
+    private static int weighted(int[] weights, SplittableRandom random) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int roll = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            roll -= weights[i];
+            if (roll < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    private static int[] shuffledIndexes(int n, SplittableRandom random) {
+        int[] indexes = new int[n];
+        for (int i = 0; i < n; i++) {
+            indexes[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = indexes[i];
+            indexes[i] = indexes[j];
+            indexes[j] = swap;
+        }
+        return indexes;
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    // Customer details are derived from the index, so orders never need the users in memory
+
+    static String sku(int index) {
+        return SKU_PREFIX + String.format("%08d", index + 1);
+    }
+
+    private static String email(int customer) {
+        return "shopper" + customer + EMAIL_DOMAIN;
+    }
+
+    private static String customerName(int customer) {
+        return FIRST_NAMES[customer % FIRST_NAMES.length] + " "
+                + LAST_NAMES[(customer / FIRST_NAMES.length) % LAST_NAMES.length];
+    }
+
+    private static String phone(int customer) {
+        return String.format("555-%04d", customer % 10_000);
+    }
+
+    private static String address(int customer) {
+        return (customer % 9_999 + 1) + " " + STREETS[customer % STREETS.length] + ", "
+                + CITIES[(customer / STREETS.length) % CITIES.length];
+    }
+}
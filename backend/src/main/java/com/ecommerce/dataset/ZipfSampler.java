@@ -0,0 +1,31 @@
+package com.ecommerce.dataset;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Draws ranks {@code 0..n-1} with probability proportional to {@code 1 / (rank + 1)^exponent},
+ * so a few ranks take most of the draws. The cumulative distribution is computed once and a
+ * draw is a binary search over it; instances are immutable and safe to share between threads.
+ */
+final class ZipfSampler {
+
+    private final double[] cdf;
+
+    ZipfSampler(int n, double exponent) {
+        cdf = new double[n];
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += 1.0 / Math.pow(i + 1, exponent);
+            cdf[i] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cdf[i] /= sum;
+        }
+    }
+
+    int sample(SplittableRandom random) {
+        int position = Arrays.binarySearch(cdf, random.nextDouble());
+        return Math.min(position >= 0 ? position : -position - 1, cdf.length - 1);
+    }
+}
@@ -0,0 +1,30 @@
+package com.ecommerce.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class BulkOrderUpdateRequest {
+
+    private List<Operation> operations = new ArrayList<>();
+
+    /**
+     * One change to one order: exactly one of {@code status}, {@code paymentStatus} or
+     * {@code trackingNumber} (optionally with {@code estimatedDeliveryDate}).
+     */
+    @Data
+    @NoArgsConstructor
+    public static class Operation {
+        private Long orderId;
+        private String status;
+        private String paymentStatus;
+        private String trackingNumber;
+        private LocalDateTime estimatedDeliveryDate;
+        private Long version;
+    }
+}
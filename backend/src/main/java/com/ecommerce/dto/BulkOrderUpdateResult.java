@@ -0,0 +1,44 @@
+package com.ecommerce.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOrderUpdateResult {
+
+    private int succeeded;
+    private int failed;
+    private List<Item> results;
+
+    public static BulkOrderUpdateResult of(List<Item> results) {
+        int succeeded = (int) results.stream().filter(Item::isSuccess).count();
+        return new BulkOrderUpdateResult(succeeded, results.size() - succeeded, results);
+    }
+
+    // Results are in request order; index is the operation's position in the request
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Item {
+        private int index;
+        private Long orderId;
+        private boolean success;
+        private String error;
+        private OrderState state;
+
+        public static Item success(int index, OrderState state) {
+            return new Item(index, state.getId(), true, null, state);
+        }
+
+        public static Item failure(int index, Long orderId, String error) {
+            return new Item(index, orderId, false, error, null);
+        }
+    }
+}
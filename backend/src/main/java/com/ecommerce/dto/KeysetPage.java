@@ -0,0 +1,37 @@
+package com.ecommerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+@AllArgsConstructor
+public class KeysetPage<T> {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    private List<T> items;
+    private String nextCursor; // null on the last page
+
+    public static int clampLimit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    /**
+     * Builds a page from a result fetched with {@code limit + 1} rows; the extra row only
+     * signals that another page exists and is not returned.
+     */
+    public static <T> KeysetPage<T> of(List<T> rows, int limit, Function<T, String> cursorOf) {
+        if (rows.size() <= limit) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new KeysetPage<>(items, cursorOf.apply(items.get(limit - 1)));
+    }
+}
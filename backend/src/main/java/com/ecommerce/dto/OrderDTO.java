@@ -28,6 +28,7 @@ public class OrderDTO {
     private String notes;
     private LocalDateTime orderDate;
     private LocalDateTime lastUpdated;
+    private Long version;
     private List<OrderItemDTO> orderItems;
 
     @Data
@@ -0,0 +1,42 @@
+package com.ecommerce.dto;
+
+import com.ecommerce.model.Order;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderEvent {
+
+    public static final String SNAPSHOT = "snapshot";
+    public static final String STATUS = "status";
+    public static final String PAYMENT = "payment";
+    public static final String TRACKING = "tracking";
+
+    private String type;
+    private Long orderId;
+    private String customerEmail;
+    private String status;
+    private String paymentStatus;
+    private String trackingNumber;
+    private LocalDateTime estimatedDeliveryDate;
+    private LocalDateTime deliveredDate;
+    private LocalDateTime lastUpdated;
+
+    public static OrderEvent of(String type, Order order) {
+        return new OrderEvent(
+                type,
+                order.getId(),
+                order.getCustomerEmail(),
+                order.getStatus(),
+                order.getPaymentStatus(),
+                order.getTrackingNumber(),
+                order.getEstimatedDeliveryDate(),
+                order.getDeliveredDate(),
+                order.getLastUpdated());
+    }
+}
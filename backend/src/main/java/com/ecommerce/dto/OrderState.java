@@ -0,0 +1,35 @@
+package com.ecommerce.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Result of a conditional order update: the fields the update wrote, without reloading the
+ * order. {@code version} is only known, and only present, when the client sent the version
+ * it expected.
+ */
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderState {
+
+    private Long id;
+    private String status;
+    private String previousStatus;
+    private String paymentStatus;
+    private String previousPaymentStatus;
+    private String trackingNumber;
+    private LocalDateTime estimatedDeliveryDate;
+    private LocalDateTime deliveredDate;
+    private LocalDateTime lastUpdated;
+    private Long version;
+
+    public OrderState(Long id, LocalDateTime lastUpdated, Long expectedVersion) {
+        this.id = id;
+        this.lastUpdated = lastUpdated;
+        this.version = expectedVersion == null ? null : expectedVersion + 1;
+    }
+}
@@ -0,0 +1,39 @@
+package com.ecommerce.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Progress of a running product import, or the outcome of the last one
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProductImportReport {
+
+    private String format;
+    private boolean running;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private long processed;
+    private long created;
+    private long updated;
+    private long failed;
+    private String abortedBy;
+    private List<RowError> errors;
+
+    // line is where the record starts in the uploaded file; only the first errors are kept
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class RowError {
+        private long line;
+        private String sku;
+        private String error;
+    }
+}
@@ -0,0 +1,259 @@
+package com.ecommerce.inventory;
+
+import com.ecommerce.model.Product;
+import com.ecommerce.repository.ProductRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Opt-in in-memory stock for products flagged {@code hotSku}. Checkouts for those products are
+ * admitted or rejected against striped counters without touching the {@code products} row;
+ * their order items are written with {@code stock_reconciled = false} and a scheduled job later
+ * folds them into {@code products.stock}. Because the pending decrements live in the order
+ * items themselves, recovery after a restart is just one reconciliation before reseeding.
+ * Each product's counter is a generation: an admin write retires it and, once the reservations
+ * taken from it have committed or rolled back, seeds the next one from the stored stock minus
+ * the items still waiting for reconciliation.
+ */
+@Component
+public class HotSkuInventory {
+
+    private static final Logger log = LoggerFactory.getLogger(HotSkuInventory.class);
+
+    private static final int RECONCILE_BATCH = 5000;
+
+    private static final long DRAIN_TIMEOUT_MS = 10_000;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final Map<Long, Generation> counters = new ConcurrentHashMap<>();
+
+    /**
+     * One counter and the reservations taken from it that have not completed yet. A retired
+     * generation takes no new reservations; its counter is only credited back by rollbacks of
+     * orders that reserved from it, so a successor never receives units it did not hand out.
+     */
+    private static final class Generation {
+
+        final StripedCounter counter;
+        final AtomicInteger inFlight = new AtomicInteger();
+        volatile boolean retired;
+
+        Generation(long available) {
+            this.counter = new StripedCounter(Math.max(0, available));
+        }
+
+        boolean tryReserve(int quantity) {
+            inFlight.incrementAndGet();
+            if (retired || !counter.tryAcquire(quantity)) {
+                inFlight.decrementAndGet();
+                return false;
+            }
+            return true;
+        }
+
+        void complete(int quantity, boolean committed) {
+            if (!committed) {
+                counter.release(quantity);
+            }
+            inFlight.decrementAndGet();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void recover() {
+        reconcile();
+        for (Product product : productRepository.findByHotSkuTrue()) {
+            counters.put(product.getId(), new Generation(product.getStock()));
+        }
+        if (!counters.isEmpty()) {
+            log.info("Hot SKU inventory recovered for {} products", counters.size());
+        }
+    }
+
+    public boolean isHot(Long productId) {
+        return counters.containsKey(productId);
+    }
+
+    public long available(Long productId) {
+        Generation generation = counters.get(productId);
+        return generation == null ? -1 : generation.counter.available();
+    }
+
+    /**
+     * Reserves the hot lines of an order in memory and returns what was reserved. Must run inside
+     * the order transaction: if it rolls back the quantities are released again.
+     */
+    public Map<Long, Integer> reserve(Map<Long, Integer> quantities) {
+        Map<Long, Integer> reserved = new LinkedHashMap<>();
+        Map<Generation, Integer> taken = new LinkedHashMap<>();
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+            Generation generation = counters.get(line.getKey());
+            if (generation == null) {
+                continue;
+            }
+            if (!generation.tryReserve(line.getValue())) {
+                taken.forEach((reserving, quantity) -> reserving.complete(quantity, false));
+                throw new RuntimeException("Insufficient stock for product: " + line.getKey());
+            }
+            reserved.put(line.getKey(), line.getValue());
+            taken.put(generation, line.getValue());
+        }
+
+        if (!taken.isEmpty()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    taken.forEach((generation, quantity) -> generation.complete(quantity, status == STATUS_COMMITTED));
+                }
+            });
+        }
+        return reserved;
+    }
+
+    /**
+     * Called after an admin write. For a hot product the stored stock becomes the new truth:
+     * checkouts are refused while the reservations of the old counter complete, then the new
+     * counter starts from the stored stock less the items still waiting to be reconciled,
+     * which the next reconciliation will subtract from the row. A product that is no longer
+     * hot is drained the same way and reconciled, so the row path sees all of its orders.
+     */
+    public synchronized void productSaved(Product product) {
+        Long id = product.getId();
+        if (Boolean.TRUE.equals(product.getHotSku())) {
+            // Stock 0 until reseeded, so nothing is admitted against a count that is being replaced
+            Generation closed = new Generation(0);
+            drain(id, counters.put(id, closed));
+            Long pending = jdbcTemplate.queryForObject("SELECT COALESCE(SUM(quantity), 0) FROM order_items " +
+                    "WHERE product_id = ? AND stock_reconciled = FALSE", Long.class, id);
+            counters.put(id, new Generation(product.getStock() - pending));
+            closed.retired = true;
+        } else {
+            Generation previous = counters.remove(id);
+            if (previous != null) {
+                drain(id, previous);
+                reconcile();
+            }
+        }
+    }
+
+    public synchronized void productDeleted(Long productId) {
+        Generation previous = counters.remove(productId);
+        if (previous != null) {
+            previous.retired = true;
+        }
+    }
+
+    // Retires a generation and waits until every order that reserved from it has completed
+    private void drain(Long productId, Generation generation) {
+        if (generation == null) {
+            return;
+        }
+        generation.retired = true;
+        long deadline = System.currentTimeMillis() + DRAIN_TIMEOUT_MS;
+        while (generation.inFlight.get() > 0) {
+            if (System.currentTimeMillis() > deadline) {
+                log.warn("Hot SKU {} reseeded with {} reservations still in flight", productId, generation.inFlight.get());
+                return;
+            }
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.hot-sku.reconcile-interval-ms:5000}")
+    public void scheduledReconcile() {
+        reconcile();
+    }
+
+    @PreDestroy
+    public void flush() {
+        reconcile();
+    }
+
+    /**
+     * Applies committed hot-SKU order items to {@code products.stock}. Rows are locked and
+     * flagged in the same transaction as the decrement, so each item is applied exactly once;
+     * items of orders that have not committed yet are simply picked up by a later run.
+     */
+    public synchronized int reconcile() {
+        int applied = 0;
+        int batch;
+        do {
+            Integer count = new TransactionTemplate(transactionManager).execute(status -> reconcileBatch());
+            batch = count == null ? 0 : count;
+            applied += batch;
+        } while (batch == RECONCILE_BATCH);
+        if (applied > 0) {
+            log.debug("Reconciled {} hot SKU order items", applied);
+        }
+        return applied;
+    }
+
+    private int reconcileBatch() {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT id, product_id, quantity FROM order_items WHERE stock_reconciled = FALSE " +
+                        "ORDER BY id FETCH FIRST " + RECONCILE_BATCH + " ROWS ONLY FOR UPDATE");
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, Integer> totals = new HashMap<>();
+        List<Object[]> itemIds = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            totals.merge(((Number) row.get("product_id")).longValue(), ((Number) row.get("quantity")).intValue(), Integer::sum);
+            itemIds.add(new Object[]{((Number) row.get("id")).longValue()});
+        }
+
+        List<Object[]> decrements = new ArrayList<>(totals.size());
+        totals.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(e -> decrements.add(new Object[]{e.getValue(), e.getKey()}));
+
+        // Admission never hands out more than the stored stock, so the floor only guards against drift
+        jdbcTemplate.batchUpdate("UPDATE products SET stock = GREATEST(stock - ?, 0) WHERE id = ?", decrements);
+        jdbcTemplate.batchUpdate("UPDATE order_items SET stock_reconciled = TRUE WHERE id = ?", itemIds);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                totals.keySet().forEach(id -> entityManagerFactory.getCache().evict(Product.class, id));
+            }
+        });
+        return rows.size();
+    }
+}
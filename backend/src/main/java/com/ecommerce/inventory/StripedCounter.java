@@ -0,0 +1,80 @@
+package com.ecommerce.inventory;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free stock counter split across several cells so concurrent acquirers mostly CAS
+ * different cache lines. The sum of all cells is the available quantity.
+ */
+final class StripedCounter {
+
+    private static final int STRIPES = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1)) << 1;
+    private static final int MASK = STRIPES - 1;
+
+    // Cells are spaced a cache line apart (8 longs) to avoid false sharing
+    private static final int PAD = 8;
+
+    private final AtomicLongArray cells = new AtomicLongArray(STRIPES * PAD);
+
+    StripedCounter(long available) {
+        long share = available / STRIPES;
+        long remainder = available % STRIPES;
+        for (int i = 0; i < STRIPES; i++) {
+            cells.set(i * PAD, share + (i < remainder ? 1 : 0));
+        }
+    }
+
+    boolean tryAcquire(int quantity) {
+        int home = ThreadLocalRandom.current().nextInt(STRIPES);
+
+        // Fast path: a single cell covers the whole quantity
+        for (int k = 0; k < STRIPES; k++) {
+            int index = ((home + k) & MASK) * PAD;
+            long current;
+            while ((current = cells.get(index)) >= quantity) {
+                if (cells.compareAndSet(index, current, current - quantity)) {
+                    return true;
+                }
+            }
+        }
+
+        // Stock is fragmented across cells: gather it piecewise, give everything back on failure
+        long[] taken = new long[STRIPES];
+        long remaining = quantity;
+        for (int k = 0; k < STRIPES && remaining > 0; k++) {
+            int stripe = (home + k) & MASK;
+            int index = stripe * PAD;
+            long current;
+            while ((current = cells.get(index)) > 0) {
+                long take = Math.min(current, remaining);
+                if (cells.compareAndSet(index, current, current - take)) {
+                    taken[stripe] = take;
+                    remaining -= take;
+                    break;
+                }
+            }
+        }
+        if (remaining == 0) {
+            return true;
+        }
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            if (taken[stripe] > 0) {
+                cells.addAndGet(stripe * PAD, taken[stripe]);
+            }
+        }
+        return false;
+    }
+
+    void release(int quantity) {
+        cells.addAndGet(ThreadLocalRandom.current().nextInt(STRIPES) * PAD, quantity);
+    }
+
+    long available() {
+        long sum = 0;
+        for (int i = 0; i < STRIPES; i++) {
+            sum += cells.get(i * PAD);
+        }
+        return sum;
+    }
+}
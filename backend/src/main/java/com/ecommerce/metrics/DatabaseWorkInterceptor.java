@@ -0,0 +1,85 @@
+package com.ecommerce.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Records how many statements and entity loads each controller method caused, including lazy
+ * loading during JSON serialization, as {@code hibernate.request.statements} and
+ * {@code hibernate.request.entity.loads} summaries tagged by handler. Requests over their
+ * {@link StatementBudget} are logged, or failed when {@code db.statement-budget.mode=fail},
+ * and a statement repeated {@code db.statement-budget.repeat-threshold} times is reported as
+ * a likely N+1.
+ */
+@Component
+public class DatabaseWorkInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(DatabaseWorkInterceptor.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${db.statement-budget.default:-1}")
+    private int defaultBudget;
+
+    @Value("${db.statement-budget.mode:log}")
+    private String mode;
+
+    @Value("${db.statement-budget.repeat-threshold:10}")
+    private int repeatThreshold;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod method) {
+            StatementBudget budget = method.getMethodAnnotation(StatementBudget.class);
+            RequestDatabaseWork.start(HandlerObservationConvention.handlerName(handler),
+                    budget != null ? budget.value() : defaultBudget, "fail".equalsIgnoreCase(mode));
+        }
+        return true;
+    }
+
+    // Streaming responses finish on another thread; their database work is not attributed
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestDatabaseWork.finish();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!(handler instanceof HandlerMethod)) {
+            return;
+        }
+        RequestDatabaseWork work = RequestDatabaseWork.finish();
+        if (work == null) {
+            return;
+        }
+        String name = work.getOwner();
+        summary("hibernate.request.statements", "SQL statements prepared per request", name).record(work.getStatements());
+        summary("hibernate.request.entity.loads", "Entities loaded per request", name).record(work.getEntityLoads());
+
+        if (work.isOverBudget()) {
+            log.warn("{} ran {} SQL statements, budget is {}", name, work.getStatements(), work.getBudget());
+        }
+        work.mostRepeatedStatement()
+                .filter(statement -> statement.getValue() >= repeatThreshold)
+                .ifPresent(statement -> log.warn("Possible N+1 in {}: {} executions of {}",
+                        name, statement.getValue(), statement.getKey()));
+    }
+
+    private DistributionSummary summary(String metric, String description, String handler) {
+        return DistributionSummary.builder(metric)
+                .description(description)
+                .tag("handler", handler)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,129 @@
+package com.ecommerce.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Statements prepared and entities loaded by Hibernate on the current thread while a request
+ * is being handled. Counting is only active between {@link #start} and {@link #finish}, so work
+ * done by filters, schedulers and async threads is not attributed to any handler. Scopes nest:
+ * work is charged to every enclosing scope, which is what lets {@link #capture} wrap a whole
+ * MockMvc call in an integration test.
+ */
+public final class RequestDatabaseWork {
+
+    public static final int UNLIMITED = -1;
+
+    private static final ThreadLocal<RequestDatabaseWork> CURRENT = new ThreadLocal<>();
+
+    private final RequestDatabaseWork parent;
+    private final String owner;
+    private final int budget;
+    private final boolean failOverBudget;
+    private final Map<String, Integer> executionsBySql = new LinkedHashMap<>();
+
+    private long statements;
+    private long entityLoads;
+
+    private RequestDatabaseWork(RequestDatabaseWork parent, String owner, int budget, boolean failOverBudget) {
+        this.parent = parent;
+        this.owner = owner;
+        this.budget = budget;
+        this.failOverBudget = failOverBudget;
+    }
+
+    /**
+     * Opens a scope. With {@code failOverBudget} the statement that goes over the budget throws
+     * {@link StatementBudgetExceededException} instead of running.
+     */
+    public static void start(String owner, int budget, boolean failOverBudget) {
+        CURRENT.set(new RequestDatabaseWork(CURRENT.get(), owner, budget, failOverBudget));
+    }
+
+    public static RequestDatabaseWork finish() {
+        RequestDatabaseWork work = CURRENT.get();
+        if (work != null) {
+            if (work.parent == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(work.parent);
+            }
+        }
+        return work;
+    }
+
+    /**
+     * Test support: runs the action in its own scope and returns what it did, e.g.
+     * {@code RequestDatabaseWork.capture(() -> mockMvc.perform(get("/api/orders"))).assertStatementsAtMost(3)}.
+     */
+    public static RequestDatabaseWork capture(ThrowingRunnable action) throws Exception {
+        start("capture", UNLIMITED, false);
+        RequestDatabaseWork work = CURRENT.get();
+        try {
+            action.run();
+        } finally {
+            finish();
+        }
+        return work;
+    }
+
+    @FunctionalInterface
+    public interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+
+    static void statementPrepared(String sql) {
+        for (RequestDatabaseWork work = CURRENT.get(); work != null; work = work.parent) {
+            work.statements++;
+            work.executionsBySql.merge(sql, 1, Integer::sum);
+            if (work.failOverBudget && work.isOverBudget()) {
+                throw new StatementBudgetExceededException(work.owner + " exceeded its budget of "
+                        + work.budget + " SQL statements");
+            }
+        }
+    }
+
+    static void entityLoaded() {
+        for (RequestDatabaseWork work = CURRENT.get(); work != null; work = work.parent) {
+            work.entityLoads++;
+        }
+    }
+
+    public RequestDatabaseWork assertStatementsAtMost(int max) {
+        if (statements > max) {
+            throw new AssertionError("Expected at most " + max + " SQL statements but " + statements
+                    + " ran: " + executionsBySql);
+        }
+        return this;
+    }
+
+    public boolean isOverBudget() {
+        return budget != UNLIMITED && statements > budget;
+    }
+
+    // The same SQL text run many times in one request is the signature of an N+1 load
+    public Optional<Map.Entry<String, Integer>> mostRepeatedStatement() {
+        return executionsBySql.entrySet().stream().max(Map.Entry.comparingByValue());
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public int getBudget() {
+        return budget;
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    public long getEntityLoads() {
+        return entityLoads;
+    }
+
+    public Map<String, Integer> getExecutionsBySql() {
+        return executionsBySql;
+    }
+}
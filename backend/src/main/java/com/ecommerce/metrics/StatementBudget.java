@@ -0,0 +1,19 @@
+package com.ecommerce.metrics;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maximum number of SQL statements Hibernate may prepare for a controller method, including lazy
+ * loading during JSON serialization. Methods without it get {@code db.statement-budget.default}.
+ * Only statements that go through Hibernate are counted: JdbcTemplate batches and queries (stock
+ * reservation, order exports, bulk updates and imports, status transitions) are not.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface StatementBudget {
+
+    int value();
+}
@@ -0,0 +1,16 @@
+package com.ecommerce.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Sees every statement Hibernate prepares and charges it to the current
+ * {@link RequestDatabaseWork}; the SQL itself is passed through unchanged.
+ */
+public class StatementCountingInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestDatabaseWork.statementPrepared(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,34 @@
+package com.ecommerce.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "idempotency_keys")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyKey {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "idempotency_keys_seq")
+    @SequenceGenerator(name = "idempotency_keys_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "idempotency_key", nullable = false, unique = true)
+    private String key;
+
+    @Column(nullable = false)
+    private Long orderId;
+
+    // SHA-256 of the request that used the key; keys stored before it was recorded have none and no longer replay
+    @Column(length = 64)
+    private String fingerprint;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
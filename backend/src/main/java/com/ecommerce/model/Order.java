@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -11,14 +13,19 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_order_date_id", columnList = "orderDate, id"),
+        @Index(name = "idx_orders_email_order_date_id", columnList = "customerEmail, orderDate, id"),
+        @Index(name = "idx_orders_status_order_date_id", columnList = "status, orderDate, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -37,7 +44,7 @@ public class Order {
     private BigDecimal totalAmount;
 
     @Column(nullable = false)
-    private String status = "PENDING"; // PENDING, CONFIRMED, SHIPPED, DELIVERED, CANCELLED
+    private String status = OrderStatus.PENDING.name(); // see OrderStatus for the allowed transitions
 
     @Column(nullable = false)
     private String paymentMethod = "COD"; // CREDIT_CARD, DEBIT_CARD, UPI, COD, NET_BANKING
@@ -60,7 +67,15 @@ public class Order {
     @Column(nullable = false)
     private LocalDateTime lastUpdated = LocalDateTime.now();
 
+    // Bumped by every write; clients send it back to make their update conditional
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Long version;
+
+    // Items of a whole page of orders (50 by default) are loaded in one IN query instead of one query per order
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 50)
     private List<OrderItem> orderItems = new ArrayList<>();
 
     @PreUpdate
@@ -1,5 +1,6 @@
 package com.ecommerce.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -8,18 +9,20 @@ import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "order_items")
+@Table(name = "order_items", indexes = @Index(name = "idx_order_items_stock_reconciled", columnList = "stockReconciled"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class OrderItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_items_seq")
+    @SequenceGenerator(name = "order_items_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
     @JoinColumn(name = "order_id", nullable = false)
+    @JsonIgnore // Prevent circular reference in JSON serialization
     private Order order;
 
     @ManyToOne
@@ -31,4 +34,9 @@ public class OrderItem {
 
     @Column(nullable = false)
     private BigDecimal price; // Price at time of order
+
+    // false while a hot-SKU reservation has not been applied to products.stock yet, null otherwise
+    @Column(name = "stock_reconciled")
+    @JsonIgnore
+    private Boolean stockReconciled;
 }
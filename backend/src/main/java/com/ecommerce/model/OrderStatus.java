@@ -0,0 +1,70 @@
+package com.ecommerce.model;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Order lifecycle. The transition table is built once; {@link #sources()} is its inverse, the
+ * statuses an order may be in for a conditional update to this status to apply.
+ */
+public enum OrderStatus {
+
+    PENDING,
+    CONFIRMED,
+    SHIPPED,
+    DELIVERED,
+    CANCELLED;
+
+    private Set<OrderStatus> next = Collections.emptySet();
+    private Set<OrderStatus> sources = Collections.emptySet();
+
+    static {
+        allow(PENDING, CONFIRMED, CANCELLED);
+        allow(CONFIRMED, SHIPPED, CANCELLED);
+        allow(SHIPPED, DELIVERED, CANCELLED);
+        // DELIVERED and CANCELLED are final
+
+        for (OrderStatus target : values()) {
+            EnumSet<OrderStatus> from = EnumSet.noneOf(OrderStatus.class);
+            for (OrderStatus status : values()) {
+                if (status.next.contains(target)) {
+                    from.add(status);
+                }
+            }
+            target.sources = Collections.unmodifiableSet(from);
+        }
+    }
+
+    private static void allow(OrderStatus from, OrderStatus first, OrderStatus... rest) {
+        from.next = Collections.unmodifiableSet(EnumSet.of(first, rest));
+    }
+
+    public boolean canTransitionTo(OrderStatus target) {
+        return next.contains(target);
+    }
+
+    public Set<OrderStatus> sources() {
+        return sources;
+    }
+
+    public static OrderStatus parse(String status) {
+        if (status == null) {
+            throw new RuntimeException("Order status is required");
+        }
+        try {
+            return valueOf(status.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Unknown order status: " + status);
+        }
+    }
+
+    public static void validateTransition(String currentStatus, String newStatus) {
+        OrderStatus target = parse(newStatus);
+        OrderStatus current = currentStatus == null ? null : parse(currentStatus);
+        if (current == null || !current.canTransitionTo(target)) {
+            throw new RuntimeException("Invalid status transition from " + currentStatus + " to " + newStatus);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.ecommerce.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,15 +11,22 @@ import java.math.BigDecimal;
 
 @Entity
 @Table(name = "products")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "products")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Product {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_seq")
+    @SequenceGenerator(name = "products_seq", allocationSize = 50)
     private Long id;
 
+    // Supplier stock-keeping unit; the key bulk imports upsert on
+    @Column(unique = true, length = 64)
+    private String sku;
+
     @Column(nullable = false)
     private String name;
 
@@ -35,4 +44,8 @@ public class Product {
     @ManyToOne
     @JoinColumn(name = "category_id")
     private Category category;
+
+    // Flash-sale mode: stock is admitted in memory and reconciled to this row asynchronously
+    @Column(name = "hot_sku")
+    private Boolean hotSku = false;
 }
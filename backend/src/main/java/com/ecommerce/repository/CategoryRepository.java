@@ -1,12 +1,15 @@
 package com.ecommerce.repository;
 
 import com.ecommerce.model.Category;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     Optional<Category> findByName(String name);
 }
@@ -1,6 +1,7 @@
 package com.ecommerce.repository;
 
 import com.ecommerce.model.Order;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -27,9 +28,48 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
 
     Long countByStatus(String status);
 
-    @Query("SELECT o FROM Order o WHERE " +
+    // One row per (status, paymentStatus, paymentMethod) combination with its count
+    @Query("SELECT o.status, o.paymentStatus, o.paymentMethod, COUNT(o) FROM Order o " +
+            "GROUP BY o.status, o.paymentStatus, o.paymentMethod")
+    List<Object[]> countByStatusAndPayment();
+
+    // Keyset pages ordered by (orderDate DESC, id DESC); the first page passes OrderService.FIRST_PAGE
+
+    @Query("SELECT o FROM Order o WHERE o.orderDate < :date OR (o.orderDate = :date AND o.id < :id) " +
+            "ORDER BY o.orderDate DESC, o.id DESC")
+    List<Order> findPage(@Param("date") LocalDateTime date, @Param("id") Long id, Limit limit);
+
+    @Query("SELECT o FROM Order o WHERE o.customerEmail = :email AND " +
+            "(o.orderDate < :date OR (o.orderDate = :date AND o.id < :id)) " +
+            "ORDER BY o.orderDate DESC, o.id DESC")
+    List<Order> findPageByCustomerEmail(@Param("email") String email, @Param("date") LocalDateTime date,
+            @Param("id") Long id, Limit limit);
+
+    @Query("SELECT o FROM Order o WHERE o.status = :status AND " +
+            "(o.orderDate < :date OR (o.orderDate = :date AND o.id < :id)) " +
+            "ORDER BY o.orderDate DESC, o.id DESC")
+    List<Order> findPageByStatus(@Param("status") String status, @Param("date") LocalDateTime date,
+            @Param("id") Long id, Limit limit);
+
+    @Query("SELECT o FROM Order o WHERE o.customerEmail = :email AND o.status = :status AND " +
+            "(o.orderDate < :date OR (o.orderDate = :date AND o.id < :id)) " +
+            "ORDER BY o.orderDate DESC, o.id DESC")
+    List<Order> findPageByCustomerEmailAndStatus(@Param("email") String email, @Param("status") String status,
+            @Param("date") LocalDateTime date, @Param("id") Long id, Limit limit);
+
+    @Query("SELECT o FROM Order o WHERE o.orderDate BETWEEN :from AND :to AND " +
+            "(o.orderDate < :date OR (o.orderDate = :date AND o.id < :id)) " +
+            "ORDER BY o.orderDate DESC, o.id DESC")
+    List<Order> findPageByOrderDateBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+            @Param("date") LocalDateTime date, @Param("id") Long id, Limit limit);
+
+    // Substring search over name, email and id; only used for queries too short for OrderSearchIndex
+    @Query("SELECT o FROM Order o WHERE (" +
             "LOWER(o.customerName) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
             "LOWER(o.customerEmail) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
-            "CAST(o.id AS string) LIKE CONCAT('%', :query, '%')")
-    List<Order> searchOrders(@Param("query") String query);
+            "CAST(o.id AS string) LIKE CONCAT('%', :query, '%')) AND " +
+            "(o.orderDate < :date OR (o.orderDate = :date AND o.id < :id)) " +
+            "ORDER BY o.orderDate DESC, o.id DESC")
+    List<Order> searchPage(@Param("query") String query, @Param("date") LocalDateTime date,
+            @Param("id") Long id, Limit limit);
 }
@@ -1,13 +1,18 @@
 package com.ecommerce.repository;
 
 import com.ecommerce.model.Product;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<Product> findByCategoryId(Long categoryId);
+
     List<Product> findByNameContainingIgnoreCase(String name);
+    List<Product> findByHotSkuTrue();
 }
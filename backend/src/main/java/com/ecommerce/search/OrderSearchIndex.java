@@ -0,0 +1,224 @@
+package com.ecommerce.search;
+
+import com.ecommerce.model.Order;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Trigram index over order customer name, customer email and id, answering the admin
+ * substring search without scanning the orders table. Candidates come from intersecting the
+ * posting lists of the query's trigrams and are verified against the stored fields, so the
+ * result is exactly what the LIKE query would return. Queries shorter than one trigram
+ * cannot use the index and are left to the database.
+ */
+@Component
+public class OrderSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderSearchIndex.class);
+
+    public static final int GRAM = 3;
+
+    private static final Comparator<Entry> NEWEST_FIRST = Comparator
+            .comparing(Entry::orderDate).thenComparingLong(Entry::id).reversed();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Map<String, Postings> postings = new ConcurrentHashMap<>();
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    private volatile boolean ready;
+
+    private record Entry(long id, String name, String email, LocalDateTime orderDate) {
+
+        boolean matches(String query) {
+            return name.contains(query) || email.contains(query) || Long.toString(id).contains(query);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "SELECT id, customer_name, customer_email, order_date FROM orders");
+            statement.setFetchSize(1000);
+            return statement;
+        }, (RowCallbackHandler) rs -> add(rs.getLong(1), rs.getString(2), rs.getString(3),
+                rs.getTimestamp(4).toLocalDateTime())));
+        ready = true;
+        log.info("Order search index built for {} orders", entries.size());
+    }
+
+    public boolean canServe(String query) {
+        return ready && query != null && query.length() >= GRAM;
+    }
+
+    // Indexed once the creating transaction commits, so rolled-back orders never show up
+    public void orderCreated(Order order) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(order.getId(), order.getCustomerName(), order.getCustomerEmail(), order.getOrderDate());
+                }
+            });
+        } else {
+            add(order.getId(), order.getCustomerName(), order.getCustomerEmail(), order.getOrderDate());
+        }
+    }
+
+    private void add(long id, String name, String email, LocalDateTime orderDate) {
+        Entry entry = new Entry(id, lower(name), lower(email), orderDate);
+        if (entries.putIfAbsent(id, entry) != null) {
+            return;
+        }
+        Set<String> grams = new HashSet<>();
+        collectGrams(entry.name(), grams);
+        collectGrams(entry.email(), grams);
+        collectGrams(Long.toString(id), grams);
+        for (String gram : grams) {
+            postings.computeIfAbsent(gram, k -> new Postings()).add(id);
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} matching order ids, newest first, that sort strictly after
+     * the given (orderDate, id) key.
+     */
+    public List<Long> search(String query, LocalDateTime afterDate, long afterId, int limit) {
+        String needle = lower(query);
+        Set<String> grams = new HashSet<>();
+        collectGrams(needle, grams);
+
+        // Intersect starting from the rarest trigram
+        List<Postings.View> lists = new ArrayList<>(grams.size());
+        for (String gram : grams) {
+            Postings list = postings.get(gram);
+            if (list == null) {
+                return List.of();
+            }
+            lists.add(list.view());
+        }
+        lists.sort(Comparator.comparingInt(Postings.View::size));
+        Postings.View candidates = lists.get(0);
+        for (int i = 1; i < lists.size() && candidates.size() > 0; i++) {
+            candidates = intersect(candidates, lists.get(i));
+        }
+
+        Entry after = new Entry(afterId, "", "", afterDate);
+        PriorityQueue<Entry> top = new PriorityQueue<>(limit + 1, NEWEST_FIRST.reversed());
+        for (int i = 0; i < candidates.size(); i++) {
+            Entry entry = entries.get(candidates.ids()[i]);
+            if (entry == null || NEWEST_FIRST.compare(entry, after) <= 0 || !entry.matches(needle)) {
+                continue;
+            }
+            top.add(entry);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<Entry> page = new ArrayList<>(top);
+        page.sort(NEWEST_FIRST);
+        return page.stream().map(Entry::id).toList();
+    }
+
+    private static Postings.View intersect(Postings.View a, Postings.View b) {
+        long[] out = new long[Math.min(a.size(), b.size())];
+        int i = 0, j = 0, n = 0;
+        while (i < a.size() && j < b.size()) {
+            long x = a.ids()[i];
+            long y = b.ids()[j];
+            if (x < y) {
+                i++;
+            } else if (x > y) {
+                j++;
+            } else {
+                out[n++] = x;
+                i++;
+                j++;
+            }
+        }
+        return new Postings.View(out, n);
+    }
+
+    private static void collectGrams(String text, Set<String> grams) {
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+    }
+
+    private static String lower(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Sorted posting list. Ids mostly arrive in increasing order and are appended; readers
+     * take a lock-free view by reading the size before the array, which the writer publishes
+     * in the opposite order, so the array seen is always at least that long.
+     */
+    private static final class Postings {
+
+        record View(long[] ids, int size) {
+        }
+
+        private volatile long[] ids = new long[4];
+        private volatile int size;
+
+        synchronized void add(long id) {
+            long[] current = ids;
+            int n = size;
+            int position = n;
+            if (n > 0 && current[n - 1] >= id) {
+                position = Arrays.binarySearch(current, 0, n, id);
+                if (position >= 0) {
+                    return;
+                }
+                position = -position - 1;
+            }
+            if (position == n && n < current.length) {
+                current[n] = id;
+                size = n + 1;
+                return;
+            }
+            long[] next = Arrays.copyOf(current, Math.max(current.length, n + 1) + (position == n ? n >> 1 : 0));
+            System.arraycopy(current, position, next, position + 1, n - position);
+            next[position] = id;
+            ids = next;
+            size = n + 1;
+        }
+
+        View view() {
+            int n = size;
+            return new View(ids, n);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.ecommerce.search;
+
+import com.ecommerce.model.Product;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-process inverted index over product name, description and category name.
+ * Query cost depends on the number of matching postings, not on catalog size:
+ * exact terms are a hash lookup, prefixes a sorted-map range scan and typos
+ * (one edit) are resolved through a deletion-neighbourhood table.
+ */
+@Component
+public class ProductSearchIndex {
+
+    public static final int MAX_RESULTS = 500;
+
+    private static final int NAME_WEIGHT = 6;
+    private static final int CATEGORY_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private static final double EXACT_BOOST = 1.0;
+    private static final double PREFIX_BOOST = 0.6;
+    private static final double FUZZY_BOOST = 0.3;
+
+    private static final int MIN_FUZZY_LENGTH = 4;
+    private static final int MAX_PREFIX_TERMS = 64;
+
+    // term -> (productId -> field weight)
+    private final ConcurrentSkipListMap<String, Map<Long, Integer>> postings = new ConcurrentSkipListMap<>();
+
+    // term with one character deleted -> terms that produce it
+    private final Map<String, Set<String>> deletions = new ConcurrentHashMap<>();
+
+    // productId -> terms indexed for it, so updates can retract old postings
+    private final Map<Long, Set<String>> documents = new ConcurrentHashMap<>();
+
+    public synchronized void rebuild(Collection<Product> products) {
+        postings.clear();
+        deletions.clear();
+        documents.clear();
+        for (Product product : products) {
+            add(product);
+        }
+    }
+
+    public synchronized void update(Product product) {
+        remove(product.getId());
+        add(product);
+    }
+
+    public synchronized void remove(Long productId) {
+        Set<String> terms = documents.remove(productId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Integer> docs = postings.get(term);
+            if (docs == null) {
+                continue;
+            }
+            docs.remove(productId);
+            if (docs.isEmpty()) {
+                postings.remove(term);
+                for (String deletion : deletionsOf(term)) {
+                    Set<String> origins = deletions.get(deletion);
+                    if (origins != null) {
+                        origins.remove(term);
+                        if (origins.isEmpty()) {
+                            deletions.remove(deletion);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns matching product ids, best match first. Every query token has to match
+     * (exactly, as a prefix or within one edit); scores add up across tokens.
+     */
+    public List<Long> search(String query) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Double> scores = null;
+        for (String token : tokens) {
+            Map<Long, Double> tokenScores = scoreToken(token);
+            if (scores == null) {
+                scores = tokenScores;
+            } else {
+                Map<Long, Double> merged = new HashMap<>();
+                for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                    Double other = tokenScores.get(entry.getKey());
+                    if (other != null) {
+                        merged.put(entry.getKey(), entry.getValue() + other);
+                    }
+                }
+                scores = merged;
+            }
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(MAX_RESULTS)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private Map<Long, Double> scoreToken(String token) {
+        Map<Long, Double> scores = new HashMap<>();
+
+        Map<Long, Integer> exact = postings.get(token);
+        if (exact != null) {
+            accumulate(scores, exact, EXACT_BOOST);
+        }
+
+        NavigableMap<String, Map<Long, Integer>> prefixed =
+                postings.subMap(token, false, token + Character.MAX_VALUE, false);
+        int expanded = 0;
+        for (Map<Long, Integer> docs : prefixed.values()) {
+            if (++expanded > MAX_PREFIX_TERMS) {
+                break;
+            }
+            accumulate(scores, docs, PREFIX_BOOST);
+        }
+
+        if (scores.isEmpty() && token.length() >= MIN_FUZZY_LENGTH) {
+            for (String term : fuzzyTerms(token)) {
+                Map<Long, Integer> docs = postings.get(term);
+                if (docs != null) {
+                    accumulate(scores, docs, FUZZY_BOOST);
+                }
+            }
+        }
+        return scores;
+    }
+
+    private void accumulate(Map<Long, Double> scores, Map<Long, Integer> docs, double boost) {
+        for (Map.Entry<Long, Integer> doc : docs.entrySet()) {
+            scores.merge(doc.getKey(), doc.getValue() * boost, Math::max);
+        }
+    }
+
+    // Terms within one insertion, deletion or substitution of the token
+    private Set<String> fuzzyTerms(String token) {
+        Set<String> candidates = new HashSet<>();
+        candidates.addAll(deletions.getOrDefault(token, Set.of()));
+        for (String deletion : deletionsOf(token)) {
+            if (postings.containsKey(deletion)) {
+                candidates.add(deletion);
+            }
+            candidates.addAll(deletions.getOrDefault(deletion, Set.of()));
+        }
+        candidates.remove(token);
+        return candidates;
+    }
+
+    private void add(Product product) {
+        Map<String, Integer> weights = new HashMap<>();
+        collect(weights, product.getName(), NAME_WEIGHT);
+        collect(weights, product.getDescription(), DESCRIPTION_WEIGHT);
+        if (product.getCategory() != null) {
+            collect(weights, product.getCategory().getName(), CATEGORY_WEIGHT);
+        }
+
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            String term = entry.getKey();
+            Map<Long, Integer> docs = postings.computeIfAbsent(term, k -> new ConcurrentHashMap<>());
+            if (docs.isEmpty() && term.length() >= MIN_FUZZY_LENGTH) {
+                for (String deletion : deletionsOf(term)) {
+                    deletions.computeIfAbsent(deletion, k -> ConcurrentHashMap.newKeySet()).add(term);
+                }
+            }
+            docs.put(product.getId(), entry.getValue());
+        }
+        documents.put(product.getId(), weights.keySet());
+    }
+
+    private void collect(Map<String, Integer> weights, String text, int weight) {
+        for (String token : tokenize(text)) {
+            weights.merge(token, weight, Integer::sum);
+        }
+    }
+
+    private static List<String> deletionsOf(String term) {
+        List<String> result = new ArrayList<>(term.length());
+        for (int i = 0; i < term.length(); i++) {
+            result.add(term.substring(0, i) + term.substring(i + 1));
+        }
+        return result;
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                current.append(Character.toLowerCase(c));
+            } else if (current.length() > 0) {
+                tokens.add(current.toString());
+                current.setLength(0);
+            }
+        }
+        if (current.length() > 0) {
+            tokens.add(current.toString());
+        }
+        return tokens;
+    }
+}
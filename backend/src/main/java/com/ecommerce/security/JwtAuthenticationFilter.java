@@ -1,6 +1,7 @@
 package com.ecommerce.security;
 
 import com.ecommerce.service.UserService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -31,21 +32,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         final String authorizationHeader = request.getHeader("Authorization");
 
         String username = null;
-        String jwt = null;
+        Claims claims = null;
 
+        // Verified once here; validateToken below reuses the claims instead of re-parsing
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
+            String jwt = authorizationHeader.substring(7);
             try {
-                username = jwtUtil.extractUsername(jwt);
+                claims = jwtUtil.verify(jwt);
+                username = claims.getSubject();
             } catch (Exception e) {
                 logger.error("JWT Token extraction failed", e);
             }
         }
 
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userService.loadUserByUsername(username);
+            UserDetails userDetails = userService.loadCachedUserByUsername(username);
 
-            if (jwtUtil.validateToken(jwt, userDetails)) {
+            if (userDetails.isEnabled() && jwtUtil.validateToken(claims, userDetails)) {
                 UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
                 authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -1,19 +1,32 @@
 package com.ecommerce.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.function.Function;
 
+/**
+ * Issues and verifies tokens. The signing key and parser are built once; tokens that passed
+ * verification are remembered by SHA-256 digest until they expire or the cache TTL runs out,
+ * so a token is signature-checked and parsed at most once per TTL window.
+ */
 @Component
 public class JwtUtil {
 
@@ -23,8 +36,68 @@ public class JwtUtil {
     @Value("${jwt.expiration:86400000}") // 24 hours in milliseconds
     private Long expiration;
 
+    @Value("${jwt.cache.ttl-ms:300000}")
+    private long cacheTtlMillis;
+
+    @Value("${jwt.cache.max-entries:10000}")
+    private int cacheMaxEntries;
+
+    private Key signingKey;
+    private JwtParser parser;
+    private Map<ByteBuffer, VerifiedToken> verified;
+
+    private record VerifiedToken(Claims claims, long validUntil) {
+    }
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        parser = Jwts.parser()
+                .setSigningKey(signingKey)
+                .build();
+        verified = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ByteBuffer, VerifiedToken> eldest) {
+                return size() > cacheMaxEntries;
+            }
+        });
+    }
+
     private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+        return signingKey;
+    }
+
+    /**
+     * Returns the verified claims of the token, throwing like the parser does if it is
+     * malformed, badly signed or expired. Only successful verifications are cached.
+     */
+    public Claims verify(String token) {
+        ByteBuffer digest = digest(token);
+        long now = System.currentTimeMillis();
+        VerifiedToken cached = verified.get(digest);
+        if (cached != null) {
+            if (cached.validUntil() > now) {
+                return cached.claims();
+            }
+            verified.remove(digest);
+        }
+
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        long validUntil = now + cacheTtlMillis;
+        if (claims.getExpiration() != null) {
+            validUntil = Math.min(validUntil, claims.getExpiration().getTime());
+        }
+        verified.put(digest, new VerifiedToken(claims, validUntil));
+        return claims;
+    }
+
+    private static ByteBuffer digest(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
     public String extractUsername(String token) {
@@ -41,15 +114,11 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return verify(token);
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private Boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 
     public String generateToken(UserDetails userDetails) {
@@ -68,7 +137,11 @@ public class JwtUtil {
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return validateToken(verify(token), userDetails);
+    }
+
+    public Boolean validateToken(Claims claims, UserDetails userDetails) {
+        final String username = claims.getSubject();
+        return (username.equals(userDetails.getUsername()) && !isTokenExpired(claims));
     }
 }
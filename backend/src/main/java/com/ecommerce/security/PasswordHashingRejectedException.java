@@ -0,0 +1,13 @@
+package com.ecommerce.security;
+
+/**
+ * Thrown when the password hashing pool is saturated; mapped to 503 with Retry-After.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    public static final int RETRY_AFTER_SECONDS = 1;
+
+    public PasswordHashingRejectedException() {
+        super("Too many authentication requests, please retry shortly");
+    }
+}
@@ -0,0 +1,168 @@
+package com.ecommerce.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-client token buckets in front of the API. Clients are keyed by authenticated username,
+ * else by remote address, and every route class has its own bucket and limits. Each bucket is
+ * a single {@link AtomicLong} (generic cell rate algorithm), so admission is one CAS. Buckets
+ * that have refilled completely carry no state worth keeping and are swept periodically.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public static final String RETRY_AFTER_HEADER = HttpHeaders.RETRY_AFTER;
+
+    enum RouteClass {
+        AUTH(10, 0.2),
+        SEARCH(30, 5),
+        EXPORT(2, 0.05),
+        WRITE(30, 5),
+        READ(100, 50);
+
+        final long defaultCapacity;
+        final double defaultRefillPerSecond;
+
+        RouteClass(long defaultCapacity, double defaultRefillPerSecond) {
+            this.defaultCapacity = defaultCapacity;
+            this.defaultRefillPerSecond = defaultRefillPerSecond;
+        }
+    }
+
+    private record Limit(long intervalNanos, long burstNanos) {
+    }
+
+    private final Map<RouteClass, Limit> limits = new EnumMap<>(RouteClass.class);
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final Map<RouteClass, AtomicLong> overflow = new EnumMap<>(RouteClass.class);
+
+    private final boolean enabled;
+    private final int maxBuckets;
+
+    public RateLimitFilter(Environment environment,
+                           @Value("${rate-limit.enabled:true}") boolean enabled,
+                           @Value("${rate-limit.max-buckets:100000}") int maxBuckets) {
+        this.enabled = enabled;
+        this.maxBuckets = maxBuckets;
+        for (RouteClass routeClass : RouteClass.values()) {
+            String prefix = "rate-limit." + routeClass.name().toLowerCase() + ".";
+            long capacity = environment.getProperty(prefix + "capacity", Long.class, routeClass.defaultCapacity);
+            double refill = environment.getProperty(prefix + "refill-per-second", Double.class, routeClass.defaultRefillPerSecond);
+            long interval = (long) (TimeUnit.SECONDS.toNanos(1) / refill);
+            limits.put(routeClass, new Limit(interval, interval * (capacity - 1)));
+            overflow.put(routeClass, new AtomicLong(Long.MIN_VALUE));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/") || "OPTIONS".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        RouteClass routeClass = classify(request);
+        Limit limit = limits.get(routeClass);
+        long waitNanos = acquire(bucketFor(routeClass, clientKey(request)), limit, System.nanoTime());
+
+        if (waitNanos > 0) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(RETRY_AFTER_HEADER, String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999))));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"Too many requests\"}");
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    // Returns 0 if admitted, otherwise how long until the next request would be
+    private static long acquire(AtomicLong bucket, Limit limit, long now) {
+        while (true) {
+            long theoreticalArrival = bucket.get();
+            long start = Math.max(theoreticalArrival, now);
+            long earliest = start - limit.burstNanos();
+            if (earliest > now) {
+                return earliest - now;
+            }
+            if (bucket.compareAndSet(theoreticalArrival, start + limit.intervalNanos())) {
+                return 0;
+            }
+        }
+    }
+
+    private AtomicLong bucketFor(RouteClass routeClass, String client) {
+        String key = routeClass.ordinal() + ":" + client;
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        // Past the cap, unseen clients share one bucket per route class instead of growing the map
+        if (buckets.size() >= maxBuckets) {
+            return overflow.get(routeClass);
+        }
+        return buckets.computeIfAbsent(key, k -> new AtomicLong(Long.MIN_VALUE));
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static RouteClass classify(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        String method = request.getMethod();
+        if (path.startsWith("/api/auth/login") || path.startsWith("/api/auth/signup")) {
+            return RouteClass.AUTH;
+        }
+        if (path.startsWith("/api/orders/export")) {
+            return RouteClass.EXPORT;
+        }
+        if (path.startsWith("/api/orders/search") || path.startsWith("/api/auth/availability")
+                || (path.startsWith("/api/products") && request.getParameter("search") != null)) {
+            return RouteClass.SEARCH;
+        }
+        return "GET".equals(method) || "HEAD".equals(method) ? RouteClass.READ : RouteClass.WRITE;
+    }
+
+    /**
+     * Drops buckets that have fully refilled: a fresh bucket behaves identically, so removing
+     * them loses nothing and keeps memory proportional to recently active clients.
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.sweep-interval-ms:60000}")
+    public void sweep() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.get() <= now);
+    }
+
+    public int bucketCount() {
+        return buckets.size();
+    }
+}
@@ -1,5 +1,6 @@
 package com.ecommerce.service;
 
+import com.ecommerce.catalog.ProductCatalog;
 import com.ecommerce.model.Category;
 import com.ecommerce.repository.CategoryRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,6 +15,9 @@ public class CategoryService {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private ProductCatalog productCatalog;
+
     public List<Category> getAllCategories() {
         return categoryRepository.findAll();
     }
@@ -23,7 +27,9 @@ public class CategoryService {
     }
 
     public Category createCategory(Category category) {
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        productCatalog.reload();
+        return saved;
     }
 
     public Category updateCategory(Long id, Category categoryDetails) {
@@ -33,10 +39,13 @@ public class CategoryService {
         category.setName(categoryDetails.getName());
         category.setDescription(categoryDetails.getDescription());
         
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        productCatalog.reload();
+        return saved;
     }
 
     public void deleteCategory(Long id) {
         categoryRepository.deleteById(id);
+        productCatalog.reload();
     }
 }
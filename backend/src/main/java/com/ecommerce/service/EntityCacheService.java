@@ -0,0 +1,61 @@
+package com.ecommerce.service;
+
+import com.ecommerce.catalog.ProductCatalog;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Hit/miss figures for the Hibernate second-level and query caches, plus a manual flush for
+ * when the database was changed behind the application's back. Writes made through JPA keep
+ * the READ_WRITE regions consistent on their own; JDBC stock updates evict what they touch.
+ */
+@Service
+public class EntityCacheService {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProductCatalog productCatalog;
+
+    public Map<String, Object> statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            regions.put(region, regionStats(regionStatistics.getHitCount(), regionStatistics.getMissCount(),
+                    regionStatistics.getPutCount()));
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", statistics.isStatisticsEnabled());
+        result.put("secondLevel", regionStats(statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(), statistics.getSecondLevelCachePutCount()));
+        result.put("query", regionStats(statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount()));
+        result.put("regions", regions);
+        return result;
+    }
+
+    public void evictAll() {
+        entityManagerFactory.getCache().evictAll();
+        productCatalog.reload();
+    }
+
+    private static Map<String, Object> regionStats(long hits, long misses, long puts) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("puts", puts);
+        stats.put("hitRatio", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+        return stats;
+    }
+}
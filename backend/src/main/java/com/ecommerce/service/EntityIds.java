@@ -0,0 +1,51 @@
+package com.ecommerce.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+/**
+ * Ids for rows inserted with plain JDBC. They come from the entity's own pooled sequence
+ * generator, so they never collide with ids Hibernate hands out and a sequence call still
+ * covers a whole allocation block. The sequence is read on the current transaction's
+ * connection, so callers never need a second pooled connection.
+ */
+@Component
+public class EntityIds {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    public long[] allocate(Class<?> entityType, int count) {
+        long[] ids = new long[count];
+        if (count == 0) {
+            return ids;
+        }
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        if (!(sessionFactory.getMappingMetamodel().getEntityDescriptor(entityType).getGenerator()
+                instanceof IdentifierGenerator generator)) {
+            throw new IllegalStateException(entityType.getSimpleName() + " ids are not generated before insert");
+        }
+
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (StatelessSession session = sessionFactory.withStatelessOptions().connection(connection).openStatelessSession()) {
+            for (int i = 0; i < count; i++) {
+                ids[i] = ((Number) generator.generate((SharedSessionContractImplementor) session, null)).longValue();
+            }
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,8 @@
+package com.ecommerce.service;
+
+public class IdempotencyKeyMismatchException extends RuntimeException {
+
+    public IdempotencyKeyMismatchException() {
+        super("This " + OrderIdempotency.HEADER + " was already used for a different request");
+    }
+}
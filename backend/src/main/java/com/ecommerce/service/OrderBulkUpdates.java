@@ -0,0 +1,286 @@
+package com.ecommerce.service;
+
+import com.ecommerce.dto.BulkOrderUpdateRequest.Operation;
+import com.ecommerce.dto.BulkOrderUpdateResult;
+import com.ecommerce.dto.OrderEvent;
+import com.ecommerce.dto.OrderState;
+import com.ecommerce.model.OrderStatus;
+import com.ecommerce.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Applies many status, payment and tracking changes with the same conditional UPDATEs as
+ * {@link OrderTransitions}, sent as JDBC batches. Operations are committed in chunks of
+ * {@code orders.bulk.chunk-size}, each in its own transaction, so one bad chunk does not undo
+ * the rest. An operation that does not apply (missing order, illegal transition, stale
+ * version) only fails itself; the reasons are looked up with one query per chunk.
+ */
+@Component
+public class OrderBulkUpdates {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderStatistics orderStatistics;
+
+    @Autowired
+    private OrderEventBroadcaster orderEvents;
+
+    @Value("${orders.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${orders.bulk.max-operations:5000}")
+    private int maxOperations;
+
+    // One row of a JDBC batch; status and payment changes have one per possible previous value
+    private record Statement(int index, String source, Object[] args) {
+    }
+
+    public BulkOrderUpdateResult apply(List<Operation> operations) {
+        if (operations == null || operations.isEmpty()) {
+            throw new RuntimeException("At least one operation is required");
+        }
+        if (operations.size() > maxOperations) {
+            throw new RuntimeException("At most " + maxOperations + " operations are allowed per request");
+        }
+
+        BulkOrderUpdateResult.Item[] results = new BulkOrderUpdateResult.Item[operations.size()];
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        for (int start = 0; start < operations.size(); start += chunkSize) {
+            int from = start;
+            int to = Math.min(operations.size(), start + chunkSize);
+            try {
+                transaction.executeWithoutResult(status -> applyChunk(operations, from, to, results));
+            } catch (RuntimeException e) {
+                // The chunk rolled back, so nothing in it was applied
+                for (int i = from; i < to; i++) {
+                    results[i] = BulkOrderUpdateResult.Item.failure(i, operations.get(i).getOrderId(),
+                            "Not applied, the batch failed: " + e.getMessage());
+                }
+            }
+        }
+        return BulkOrderUpdateResult.of(Arrays.asList(results));
+    }
+
+    private void applyChunk(List<Operation> operations, int from, int to, BulkOrderUpdateResult.Item[] results) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, List<Statement>> batches = new LinkedHashMap<>();
+        Set<Long> batchedOrders = new HashSet<>();
+        Set<String> paymentSources = lockOrders(operations, from, to);
+
+        for (int i = from; i < to; i++) {
+            Operation operation = operations.get(i);
+            String invalid = validate(operation);
+            if (invalid != null) {
+                results[i] = BulkOrderUpdateResult.Item.failure(i, operation.getOrderId(), invalid);
+                continue;
+            }
+            // A second change to the same order must see the first, so run what is queued before it
+            if (!batchedOrders.add(operation.getOrderId())) {
+                execute(batches, operations, now, results);
+                batches.clear();
+                batchedOrders.clear();
+                batchedOrders.add(operation.getOrderId());
+            }
+            queue(batches, i, operation, now, paymentSources);
+        }
+        execute(batches, operations, now, results);
+
+        explainRejections(operations, from, to, results);
+        applySideEffects(operations, from, to, results);
+    }
+
+    /**
+     * Locks every order of the chunk up front, in id order. The batches below run one statement
+     * shape after another, so without this two concurrent bulk updates could take the same rows
+     * in different orders and deadlock. Returns the payment statuses the locked orders hold,
+     * which are the only values a payment change in this chunk can replace.
+     */
+    private Set<String> lockOrders(List<Operation> operations, int from, int to) {
+        Set<Long> ids = new HashSet<>();
+        for (int i = from; i < to; i++) {
+            Operation operation = operations.get(i);
+            if (operation != null && operation.getOrderId() != null) {
+                ids.add(operation.getOrderId());
+            }
+        }
+        Set<String> paymentStatuses = new LinkedHashSet<>();
+        if (ids.isEmpty()) {
+            return paymentStatuses;
+        }
+        String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+        jdbcTemplate.query("SELECT id, payment_status FROM orders WHERE id IN (" + placeholders + ") ORDER BY id FOR UPDATE",
+                rs -> {
+                    paymentStatuses.add(rs.getString(2));
+                }, ids.toArray());
+        return paymentStatuses;
+    }
+
+    private static String validate(Operation operation) {
+        if (operation == null || operation.getOrderId() == null) {
+            return "orderId is required";
+        }
+        int changes = (operation.getStatus() != null ? 1 : 0) + (operation.getPaymentStatus() != null ? 1 : 0)
+                + (operation.getTrackingNumber() != null ? 1 : 0);
+        if (changes != 1) {
+            return "Exactly one of status, paymentStatus or trackingNumber is required";
+        }
+        if (operation.getPaymentStatus() != null && operation.getPaymentStatus().isBlank()) {
+            return "Payment status is required";
+        }
+        if (operation.getStatus() != null) {
+            try {
+                OrderStatus.parse(operation.getStatus());
+            } catch (RuntimeException e) {
+                return e.getMessage();
+            }
+        }
+        return null;
+    }
+
+    private static void queue(Map<String, List<Statement>> batches, int index, Operation operation, LocalDateTime now,
+                              Set<String> paymentSources) {
+        Long id = operation.getOrderId();
+        Long version = operation.getVersion();
+        if (operation.getStatus() != null) {
+            OrderStatus target = OrderStatus.parse(operation.getStatus());
+            boolean delivered = target == OrderStatus.DELIVERED;
+            String sql = OrderTransitions.withVersion(delivered ? OrderTransitions.DELIVERED_SQL : OrderTransitions.STATUS_SQL, version);
+            for (OrderStatus source : target.sources()) {
+                Object[] args = delivered
+                        ? OrderTransitions.withVersion(version, target.name(), now, now, id, source.name())
+                        : OrderTransitions.withVersion(version, target.name(), now, id, source.name());
+                batches.computeIfAbsent(sql, k -> new ArrayList<>()).add(new Statement(index, source.name(), args));
+            }
+            // A target with no source statuses (PENDING) queues nothing and is reported as rejected
+        } else if (operation.getPaymentStatus() != null) {
+            List<Statement> statements = batches.computeIfAbsent(
+                    OrderTransitions.withVersion(OrderTransitions.PAYMENT_SQL, version), k -> new ArrayList<>());
+            for (String source : paymentSources) {
+                statements.add(new Statement(index, source,
+                        OrderTransitions.withVersion(version, operation.getPaymentStatus(), now, id, source)));
+            }
+            // A later change to the same order in this chunk may replace the value set here
+            paymentSources.add(operation.getPaymentStatus());
+        } else {
+            batches.computeIfAbsent(OrderTransitions.withVersion(OrderTransitions.TRACKING_SQL, version), k -> new ArrayList<>())
+                    .add(new Statement(index, null, OrderTransitions.withVersion(version, operation.getTrackingNumber(),
+                            operation.getEstimatedDeliveryDate(), now, id)));
+        }
+    }
+
+    private void execute(Map<String, List<Statement>> batches, List<Operation> operations, LocalDateTime now,
+                         BulkOrderUpdateResult.Item[] results) {
+        for (Map.Entry<String, List<Statement>> batch : batches.entrySet()) {
+            List<Statement> statements = batch.getValue();
+            List<Object[]> args = new ArrayList<>(statements.size());
+            statements.forEach(statement -> args.add(statement.args()));
+
+            int[] updated = jdbcTemplate.batchUpdate(batch.getKey(), args);
+            for (int i = 0; i < updated.length; i++) {
+                if (updated[i] > 0) {
+                    Statement statement = statements.get(i);
+                    results[statement.index()] = BulkOrderUpdateResult.Item.success(statement.index(),
+                            state(operations.get(statement.index()), statement.source(), now));
+                }
+            }
+        }
+    }
+
+    private static OrderState state(Operation operation, String previous, LocalDateTime now) {
+        OrderState state = new OrderState(operation.getOrderId(), now, operation.getVersion());
+        if (operation.getStatus() != null) {
+            OrderStatus target = OrderStatus.parse(operation.getStatus());
+            state.setStatus(target.name());
+            state.setPreviousStatus(previous);
+            if (target == OrderStatus.DELIVERED) {
+                state.setDeliveredDate(now);
+            }
+        } else if (operation.getPaymentStatus() != null) {
+            state.setPaymentStatus(operation.getPaymentStatus());
+            state.setPreviousPaymentStatus(previous);
+        } else {
+            state.setTrackingNumber(operation.getTrackingNumber());
+            state.setEstimatedDeliveryDate(operation.getEstimatedDeliveryDate());
+        }
+        return state;
+    }
+
+    // Operations that matched no row; reads the current status and version of all of them at once
+    private void explainRejections(List<Operation> operations, int from, int to, BulkOrderUpdateResult.Item[] results) {
+        List<Integer> rejected = new ArrayList<>();
+        Set<Long> ids = new HashSet<>();
+        for (int i = from; i < to; i++) {
+            if (results[i] == null) {
+                rejected.add(i);
+                ids.add(operations.get(i).getOrderId());
+            }
+        }
+        if (rejected.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Map<String, Object>> rows = new HashMap<>();
+        String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+        for (Map<String, Object> row : jdbcTemplate.queryForList(
+                "SELECT id, status, version FROM orders WHERE id IN (" + placeholders + ")", ids.toArray())) {
+            rows.put(((Number) row.get("id")).longValue(), row);
+        }
+        for (int i : rejected) {
+            Operation operation = operations.get(i);
+            OrderStatus target = operation.getStatus() == null ? null : OrderStatus.parse(operation.getStatus());
+            RuntimeException reason = OrderTransitions.rejection(operation.getOrderId(), operation.getVersion(),
+                    target, rows.get(operation.getOrderId()));
+            results[i] = BulkOrderUpdateResult.Item.failure(i, operation.getOrderId(), reason.getMessage());
+        }
+    }
+
+    private void applySideEffects(List<Operation> operations, int from, int to, BulkOrderUpdateResult.Item[] results) {
+        Map<Long, String> eventTypes = new LinkedHashMap<>();
+        for (int i = from; i < to; i++) {
+            if (!results[i].isSuccess()) {
+                continue;
+            }
+            Operation operation = operations.get(i);
+            OrderState state = results[i].getState();
+            if (operation.getStatus() != null) {
+                orderStatistics.statusChanged(state.getPreviousStatus(), state.getStatus());
+                eventTypes.put(operation.getOrderId(), OrderEvent.STATUS);
+            } else if (operation.getPaymentStatus() != null) {
+                orderStatistics.paymentStatusChanged(state.getPreviousPaymentStatus(), state.getPaymentStatus());
+                eventTypes.put(operation.getOrderId(), OrderEvent.PAYMENT);
+            } else {
+                eventTypes.put(operation.getOrderId(), OrderEvent.TRACKING);
+            }
+        }
+        // Events carry the full order, so changed orders are only read back when someone is subscribed
+        if (orderEvents.hasSubscribers() && !eventTypes.isEmpty()) {
+            orderRepository.findAllById(eventTypes.keySet())
+                    .forEach(order -> orderEvents.publish(eventTypes.get(order.getId()), order));
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.ecommerce.service;
+
+import com.ecommerce.dto.OrderEvent;
+import com.ecommerce.model.Order;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes order status, payment and tracking changes to Server-Sent Events subscribers.
+ * Subscribers are indexed by order id and by customer email, so publishing touches only the
+ * interested connections. Each subscriber has a small bounded buffer that drops its oldest
+ * event when full (events carry full state, so the newest one wins) and is drained by a shared
+ * dispatcher pool; at most one drain task per subscriber is queued at a time.
+ */
+@Component
+public class OrderEventBroadcaster {
+
+    private static final int BUFFER_SIZE = 16;
+    private static final Object HEARTBEAT = new Object();
+
+    @Value("${orders.events.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    private final Map<Long, Set<Subscriber>> byOrder = new ConcurrentHashMap<>();
+    private final Map<String, Set<Subscriber>> byEmail = new ConcurrentHashMap<>();
+
+    private final ExecutorService dispatcher = Executors.newFixedThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors()), new DispatcherThreadFactory());
+
+    public SseEmitter subscribeToOrder(Order order) {
+        Subscriber subscriber = subscribe(byOrder, order.getId());
+        subscriber.offer(OrderEvent.of(OrderEvent.SNAPSHOT, order));
+        return subscriber.emitter;
+    }
+
+    public SseEmitter subscribeToCustomer(String email) {
+        return subscribe(byEmail, email).emitter;
+    }
+
+    /**
+     * Publishes the order's new state once the surrounding transaction commits, so subscribers
+     * never see a change that was rolled back.
+     */
+    public void publish(String type, Order order) {
+        // Built on delivery so fields set while flushing (lastUpdated) are included
+        Runnable delivery = () -> {
+            OrderEvent event = OrderEvent.of(type, order);
+            deliver(byOrder.get(event.getOrderId()), event);
+            deliver(byEmail.get(event.getCustomerEmail()), event);
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    delivery.run();
+                }
+            });
+        } else {
+            delivery.run();
+        }
+    }
+
+    // Lets writers that never loaded the order skip loading it when nobody is listening
+    public boolean hasSubscribers() {
+        return !byOrder.isEmpty() || !byEmail.isEmpty();
+    }
+
+    public int subscriberCount() {
+        return byOrder.values().stream().mapToInt(Set::size).sum()
+                + byEmail.values().stream().mapToInt(Set::size).sum();
+    }
+
+    // Keeps idle connections alive through proxies and detects clients that went away
+    @Scheduled(fixedDelayString = "${orders.events.heartbeat-ms:30000}")
+    public void heartbeat() {
+        byOrder.values().forEach(subscribers -> subscribers.forEach(s -> s.offer(HEARTBEAT)));
+        byEmail.values().forEach(subscribers -> subscribers.forEach(s -> s.offer(HEARTBEAT)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        byOrder.values().forEach(subscribers -> subscribers.forEach(s -> s.emitter.complete()));
+        byEmail.values().forEach(subscribers -> subscribers.forEach(s -> s.emitter.complete()));
+        dispatcher.shutdownNow();
+    }
+
+    private <K> Subscriber subscribe(Map<K, Set<Subscriber>> index, K key) {
+        Subscriber subscriber = new Subscriber(new SseEmitter(timeoutMs));
+        index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(subscriber);
+
+        Runnable unsubscribe = () -> index.computeIfPresent(key, (k, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+        subscriber.emitter.onCompletion(unsubscribe);
+        subscriber.emitter.onTimeout(unsubscribe);
+        subscriber.emitter.onError(e -> unsubscribe.run());
+        return subscriber;
+    }
+
+    private void deliver(Set<Subscriber> subscribers, OrderEvent event) {
+        if (subscribers != null) {
+            subscribers.forEach(subscriber -> subscriber.offer(event));
+        }
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<Object> buffer = new ArrayBlockingQueue<>(BUFFER_SIZE);
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(Object event) {
+            while (!buffer.offer(event)) {
+                buffer.poll();
+            }
+            if (scheduled.compareAndSet(false, true)) {
+                dispatcher.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Object event;
+                while ((event = buffer.poll()) != null) {
+                    if (event == HEARTBEAT) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        OrderEvent orderEvent = (OrderEvent) event;
+                        emitter.send(SseEmitter.event()
+                                .name(orderEvent.getType())
+                                .data(orderEvent, MediaType.APPLICATION_JSON));
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                buffer.clear();
+                emitter.completeWithError(e);
+            } finally {
+                scheduled.set(false);
+                if (!buffer.isEmpty() && scheduled.compareAndSet(false, true)) {
+                    dispatcher.execute(this::drain);
+                }
+            }
+        }
+    }
+
+    private static final class DispatcherThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "order-events-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.ecommerce.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Streams orders flattened to one row per order item straight from a forward-only JDBC cursor,
+ * so heap use stays constant however many rows are exported.
+ */
+@Service
+public class OrderExportService {
+
+    public static final String CSV = "csv";
+    public static final String NDJSON = "ndjson";
+
+    private static final int FETCH_SIZE = 2000;
+
+    private static final String[] COLUMNS = {
+            "orderId", "orderDate", "status", "paymentMethod", "paymentStatus", "customerName",
+            "customerEmail", "customerPhone", "shippingAddress", "totalAmount", "trackingNumber",
+            "itemId", "productId", "productName", "quantity", "price", "subtotal"
+    };
+
+    private static final String SELECT = "SELECT o.id, o.order_date, o.status, o.payment_method, o.payment_status, " +
+            "o.customer_name, o.customer_email, o.customer_phone, o.shipping_address, o.total_amount, " +
+            "o.tracking_number, oi.id, oi.product_id, p.name, oi.quantity, oi.price " +
+            "FROM orders o " +
+            "LEFT JOIN order_items oi ON oi.order_id = o.id " +
+            "LEFT JOIN products p ON p.id = oi.product_id ";
+
+    private static final String ORDER_BY = "ORDER BY o.id, oi.id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    public void export(String format, LocalDateTime from, LocalDateTime to, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        RowWriter rows = NDJSON.equals(format) ? new NdjsonRowWriter(writer) : new CsvRowWriter(writer);
+        rows.begin();
+
+        boolean ranged = from != null && to != null;
+        String sql = SELECT + (ranged ? "WHERE o.order_date BETWEEN ? AND ? " : "") + ORDER_BY;
+
+        // Postgres only streams with a fetch size inside a transaction (autocommit off)
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        try {
+            readOnly.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(FETCH_SIZE);
+                if (ranged) {
+                    statement.setTimestamp(1, Timestamp.valueOf(from));
+                    statement.setTimestamp(2, Timestamp.valueOf(to));
+                }
+                return statement;
+            }, (RowCallbackHandler) rs -> {
+                try {
+                    rows.write(rs);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        rows.end();
+    }
+
+    private abstract static class RowWriter {
+
+        final Writer writer;
+
+        RowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        void begin() throws IOException {
+        }
+
+        void end() throws IOException {
+            writer.flush();
+        }
+
+        abstract void write(ResultSet rs) throws IOException, SQLException;
+
+        static Object[] values(ResultSet rs) throws SQLException {
+            Timestamp orderDate = rs.getTimestamp(2);
+            BigDecimal price = rs.getBigDecimal(16);
+            long quantity = rs.getLong(15);
+            boolean hasItem = rs.getObject(12) != null;
+            return new Object[]{
+                    rs.getLong(1),
+                    orderDate == null ? null : orderDate.toLocalDateTime(),
+                    rs.getString(3), rs.getString(4), rs.getString(5), rs.getString(6),
+                    rs.getString(7), rs.getString(8), rs.getString(9), rs.getBigDecimal(10),
+                    rs.getString(11),
+                    hasItem ? rs.getLong(12) : null,
+                    hasItem ? rs.getLong(13) : null,
+                    rs.getString(14),
+                    hasItem ? quantity : null,
+                    price,
+                    price == null ? null : price.multiply(BigDecimal.valueOf(quantity))
+            };
+        }
+    }
+
+    private static final class CsvRowWriter extends RowWriter {
+
+        CsvRowWriter(Writer writer) {
+            super(writer);
+        }
+
+        @Override
+        void begin() throws IOException {
+            writer.write(String.join(",", COLUMNS));
+            writer.write('\n');
+        }
+
+        @Override
+        void write(ResultSet rs) throws IOException, SQLException {
+            Object[] values = values(rs);
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                if (values[i] != null) {
+                    writeField(values[i].toString());
+                }
+            }
+            writer.write('\n');
+        }
+
+        private void writeField(String value) throws IOException {
+            boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+
+    private final class NdjsonRowWriter extends RowWriter {
+
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(Writer writer) throws IOException {
+            super(writer);
+            this.generator = jsonFactory.createGenerator(writer);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        void write(ResultSet rs) throws IOException, SQLException {
+            Object[] values = values(rs);
+            generator.writeStartObject();
+            for (int i = 0; i < values.length; i++) {
+                Object value = values[i];
+                if (value == null) {
+                    generator.writeNullField(COLUMNS[i]);
+                } else if (value instanceof Long number) {
+                    generator.writeNumberField(COLUMNS[i], number);
+                } else if (value instanceof BigDecimal number) {
+                    generator.writeNumberField(COLUMNS[i], number);
+                } else {
+                    generator.writeStringField(COLUMNS[i], value.toString());
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        void end() throws IOException {
+            // Also flushes the underlying writer
+            generator.flush();
+        }
+    }
+}
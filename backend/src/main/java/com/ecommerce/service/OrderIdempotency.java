@@ -0,0 +1,202 @@
+package com.ecommerce.service;
+
+import com.ecommerce.model.Order;
+import com.ecommerce.model.OrderItem;
+import com.ecommerce.repository.IdempotencyKeyRepository;
+import com.ecommerce.repository.OrderRepository;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Idempotency-Key handling for order creation. Completed keys are answered from a bounded LRU,
+ * then from the durable idempotency_keys table (written in the order's own transaction), so a
+ * retry never re-runs product lookups or inserts. Concurrent requests with the same key wait
+ * for the first one instead of racing it. A key only replays the request it was first used with:
+ * each key is stored with a fingerprint of that request, customer email included, and a reuse with
+ * a different body is rejected instead of answered with someone else's order.
+ */
+@Service
+public class OrderIdempotency {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final long IN_FLIGHT_WAIT_SECONDS = 30;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Value("${orders.idempotency.retention-hours:24}")
+    private long retentionHours;
+
+    private final Map<String, Completed> recent;
+
+    private final Map<String, CompletableFuture<Completed>> inFlight = new ConcurrentHashMap<>();
+
+    public OrderIdempotency(@Value("${orders.idempotency.cache-size:10000}") int cacheSize) {
+        this.recent = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Completed> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    public record Result(Order order, boolean replayed) {
+    }
+
+    private record Completed(Order order, String fingerprint) {
+
+        Result replay(String requestFingerprint) {
+            if (!requestFingerprint.equals(fingerprint)) {
+                throw new IdempotencyKeyMismatchException();
+            }
+            return new Result(order, true);
+        }
+    }
+
+    public Result createOrder(String key, Order order) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new RuntimeException("Invalid " + HEADER + " header");
+        }
+
+        String fingerprint = fingerprint(order);
+
+        Completed cached = recent.get(key);
+        if (cached != null) {
+            return cached.replay(fingerprint);
+        }
+
+        CompletableFuture<Completed> execution = new CompletableFuture<>();
+        CompletableFuture<Completed> running = inFlight.putIfAbsent(key, execution);
+        if (running != null) {
+            return await(running).replay(fingerprint);
+        }
+
+        try {
+            Optional<Completed> original = findOriginal(key);
+            if (original.isPresent()) {
+                remember(key, original.get(), execution);
+                return original.get().replay(fingerprint);
+            }
+
+            Order created;
+            try {
+                created = orderService.createOrder(order, key, fingerprint);
+            } catch (DataIntegrityViolationException e) {
+                // Another instance committed the same key first
+                original = findOriginal(key);
+                if (original.isEmpty()) {
+                    throw e;
+                }
+                remember(key, original.get(), execution);
+                return original.get().replay(fingerprint);
+            }
+            remember(key, new Completed(created, fingerprint), execution);
+            return new Result(created, false);
+        } catch (RuntimeException e) {
+            // Failed attempts are not recorded, so a later retry runs again
+            execution.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, execution);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${orders.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        idempotencyKeyRepository.deleteCreatedBefore(LocalDateTime.now().minusHours(retentionHours));
+    }
+
+    // Items are initialized here because the order outlives this request in the LRU
+    private Optional<Completed> findOriginal(String key) {
+        return idempotencyKeyRepository.findByKey(key).flatMap(record -> orderRepository.findById(record.getOrderId())
+                .map(order -> {
+                    Hibernate.initialize(order.getOrderItems());
+                    return new Completed(order, record.getFingerprint());
+                }));
+    }
+
+    private void remember(String key, Completed completed, CompletableFuture<Completed> execution) {
+        recent.put(key, completed);
+        execution.complete(completed);
+    }
+
+    /**
+     * SHA-256 over what the client sent: customer, address, payment, notes and the lines in order.
+     * Every value is length-prefixed so neighbouring fields cannot run into each other.
+     */
+    static String fingerprint(Order order) {
+        StringBuilder text = new StringBuilder();
+        String email = order.getCustomerEmail();
+        append(text, email == null ? null : email.strip().toLowerCase(Locale.ROOT));
+        append(text, order.getCustomerName());
+        append(text, order.getCustomerPhone());
+        append(text, order.getShippingAddress());
+        append(text, order.getPaymentMethod());
+        append(text, order.getNotes());
+        if (order.getOrderItems() != null) {
+            for (OrderItem item : order.getOrderItems()) {
+                append(text, item == null || item.getProduct() == null ? null : String.valueOf(item.getProduct().getId()));
+                append(text, item == null ? null : String.valueOf(item.getQuantity()));
+            }
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void append(StringBuilder text, String value) {
+        if (value == null) {
+            text.append('-');
+        } else {
+            text.append(value.length()).append(':').append(value);
+        }
+    }
+
+    private Completed await(CompletableFuture<Completed> running) {
+        try {
+            return running.get(IN_FLIGHT_WAIT_SECONDS, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new RuntimeException("A request with this " + HEADER + " is still in progress");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a request with the same " + HEADER);
+        }
+    }
+}
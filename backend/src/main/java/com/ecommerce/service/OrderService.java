@@ -1,21 +1,36 @@
 package com.ecommerce.service;
 
+import com.ecommerce.catalog.CatalogSnapshot;
+import com.ecommerce.catalog.ProductCatalog;
+import com.ecommerce.dto.KeysetPage;
 import com.ecommerce.dto.OrderDTO;
+import com.ecommerce.dto.OrderState;
+import com.ecommerce.dto.PageCursor;
+import com.ecommerce.model.IdempotencyKey;
 import com.ecommerce.model.Order;
 import com.ecommerce.model.OrderItem;
+import com.ecommerce.model.OrderStatus;
 import com.ecommerce.model.Product;
+import com.ecommerce.repository.IdempotencyKeyRepository;
 import com.ecommerce.repository.OrderRepository;
 import com.ecommerce.repository.ProductRepository;
+import com.ecommerce.search.OrderSearchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,8 +42,30 @@ public class OrderService {
     @Autowired
     private ProductRepository productRepository;
 
-    public List<Order> getAllOrders() {
-        return orderRepository.findAllByOrderByOrderDateDesc();
+    @Autowired
+    private ProductCatalog productCatalog;
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Autowired
+    private OrderStatistics orderStatistics;
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private OrderSearchIndex orderSearchIndex;
+
+    @Autowired
+    private OrderTransitions orderTransitions;
+
+    // Sort key that sorts after every real order, used for the first page
+    public static final LocalDateTime FIRST_PAGE = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    public KeysetPage<Order> getAllOrders(String cursor, int limit) {
+        OrderKey after = OrderKey.decode(cursor);
+        return page(orderRepository.findPage(after.orderDate(), after.id(), Limit.of(limit + 1)), limit);
     }
 
     public Optional<Order> getOrderById(Long id) {
@@ -39,57 +76,114 @@ public class OrderService {
         return orderRepository.findById(id).map(this::convertToDTO);
     }
 
-    public List<Order> getOrdersByEmail(String email) {
-        return orderRepository.findByCustomerEmailOrderByOrderDateDesc(email);
+    public KeysetPage<Order> getOrdersByEmail(String email, String cursor, int limit) {
+        OrderKey after = OrderKey.decode(cursor);
+        return page(orderRepository.findPageByCustomerEmail(email, after.orderDate(), after.id(), Limit.of(limit + 1)), limit);
+    }
+
+    public KeysetPage<Order> getOrdersByStatus(String status, String cursor, int limit) {
+        OrderKey after = OrderKey.decode(cursor);
+        return page(orderRepository.findPageByStatus(status, after.orderDate(), after.id(), Limit.of(limit + 1)), limit);
+    }
+
+    public KeysetPage<Order> getOrdersByEmailAndStatus(String email, String status, String cursor, int limit) {
+        OrderKey after = OrderKey.decode(cursor);
+        return page(orderRepository.findPageByCustomerEmailAndStatus(email, status,
+                after.orderDate(), after.id(), Limit.of(limit + 1)), limit);
     }
 
-    public List<Order> getOrdersByStatus(String status) {
-        return orderRepository.findByStatusOrderByOrderDateDesc(status);
+    public KeysetPage<Order> getOrdersByDateRange(LocalDateTime startDate, LocalDateTime endDate, String cursor, int limit) {
+        OrderKey after = OrderKey.decode(cursor);
+        return page(orderRepository.findPageByOrderDateBetween(startDate, endDate,
+                after.orderDate(), after.id(), Limit.of(limit + 1)), limit);
     }
 
-    public List<Order> getOrdersByEmailAndStatus(String email, String status) {
-        return orderRepository.findByCustomerEmailAndStatus(email, status);
+    private KeysetPage<Order> page(List<Order> rows, int limit) {
+        return KeysetPage.of(rows, limit, o -> PageCursor.encode(o.getOrderDate(), o.getId()));
     }
 
-    public List<Order> getOrdersByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        return orderRepository.findByOrderDateBetween(startDate, endDate);
+    private record OrderKey(LocalDateTime orderDate, Long id) {
+
+        static OrderKey decode(String cursor) {
+            if (cursor == null) {
+                return new OrderKey(FIRST_PAGE, Long.MAX_VALUE);
+            }
+            String[] key = PageCursor.decode(cursor, 2);
+            try {
+                return new OrderKey(LocalDateTime.parse(key[0]), Long.parseLong(key[1]));
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid cursor", e);
+            }
+        }
     }
 
-    public List<Order> searchOrders(String query) {
-        return orderRepository.searchOrders(query);
+    public KeysetPage<Order> searchOrders(String query, String cursor, int limit) {
+        OrderKey after = OrderKey.decode(cursor);
+        if (!orderSearchIndex.canServe(query)) {
+            return page(orderRepository.searchPage(query, after.orderDate(), after.id(), Limit.of(limit + 1)), limit);
+        }
+
+        List<Long> ids = orderSearchIndex.search(query, after.orderDate(), after.id(), limit + 1);
+        Map<Long, Order> orders = new HashMap<>();
+        for (Order order : orderRepository.findAllById(ids)) {
+            orders.put(order.getId(), order);
+        }
+        List<Order> rows = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Order order = orders.get(id);
+            if (order != null) {
+                rows.add(order);
+            }
+        }
+        return page(rows, limit);
     }
 
-    public Map<String, Long> getOrderStatistics() {
-        Map<String, Long> stats = new HashMap<>();
-        stats.put("total", orderRepository.count());
-        stats.put("pending", orderRepository.countByStatus("PENDING"));
-        stats.put("confirmed", orderRepository.countByStatus("CONFIRMED"));
-        stats.put("shipped", orderRepository.countByStatus("SHIPPED"));
-        stats.put("delivered", orderRepository.countByStatus("DELIVERED"));
-        stats.put("cancelled", orderRepository.countByStatus("CANCELLED"));
-        return stats;
+    public Map<String, Object> getOrderStatistics() {
+        return orderStatistics.snapshot();
     }
 
     @Transactional
     public Order createOrder(Order order) {
+        // Merge lines for the same product so each one is reserved once
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (OrderItem item : order.getOrderItems()) {
+            if (item.getProduct() == null || item.getProduct().getId() == null) {
+                throw new RuntimeException("Product is required for every order item");
+            }
+            if (item.getQuantity() == null || item.getQuantity() <= 0) {
+                throw new RuntimeException("Invalid quantity for product: " + item.getProduct().getId());
+            }
+            quantities.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum);
+        }
+
+        Map<Long, Product> products = loadProducts(quantities.keySet());
+
         // Calculate total amount
         BigDecimal totalAmount = BigDecimal.ZERO;
 
         for (OrderItem item : order.getOrderItems()) {
             item.setOrder(order);
             // Set price from product at time of order
-            Product product = productRepository.findById(item.getProduct().getId())
-                    .orElseThrow(() -> new RuntimeException("Product not found: " + item.getProduct().getId()));
+            Product product = products.get(item.getProduct().getId());
+            item.setProduct(product);
             item.setPrice(product.getPrice());
 
             BigDecimal itemTotal = product.getPrice().multiply(new BigDecimal(item.getQuantity()));
             totalAmount = totalAmount.add(itemTotal);
         }
 
+        Set<Long> hotProducts = stockReservationService.reserve(quantities);
+        for (OrderItem item : order.getOrderItems()) {
+            if (hotProducts.contains(item.getProduct().getId())) {
+                item.setStockReconciled(false);
+            }
+        }
+
         order.setTotalAmount(totalAmount);
         order.setOrderDate(LocalDateTime.now());
         order.setLastUpdated(LocalDateTime.now());
-        order.setStatus("PENDING");
+        order.setStatus(OrderStatus.PENDING.name());
+        order.setVersion(null);
 
         if (order.getPaymentStatus() == null) {
             order.setPaymentStatus("PENDING");
@@ -98,63 +192,54 @@ public class OrderService {
             order.setPaymentMethod("COD");
         }
 
-        return orderRepository.save(order);
+        Order saved = orderRepository.save(order);
+        orderStatistics.orderCreated(saved);
+        orderSearchIndex.orderCreated(saved);
+        return saved;
     }
 
+    // Records the key in the same transaction, so the order and its key commit or roll back together
     @Transactional
-    public Order updateOrderStatus(Long id, String status) {
-        Order order = orderRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Order not found: " + id));
-
-        // Validate status transition
-        validateStatusTransition(order.getStatus(), status);
-
-        order.setStatus(status);
+    public Order createOrder(Order order, String idempotencyKey, String fingerprint) {
+        Order saved = createOrder(order);
+        idempotencyKeyRepository.save(new IdempotencyKey(null, idempotencyKey, saved.getId(), fingerprint, LocalDateTime.now()));
+        return saved;
+    }
 
-        // Auto-update delivery date when status changes to DELIVERED
-        if ("DELIVERED".equals(status) && order.getDeliveredDate() == null) {
-            order.setDeliveredDate(LocalDateTime.now());
+    // Prices come from the catalog snapshot (copied, since the items keep them); only products missing from it are fetched, in one query
+    private Map<Long, Product> loadProducts(Collection<Long> ids) {
+        CatalogSnapshot snapshot = productCatalog.snapshot();
+        Map<Long, Product> products = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            snapshot.getProduct(id).ifPresentOrElse(p -> products.put(id, productCatalog.withCurrentStock(p)), () -> missing.add(id));
         }
-
-        return orderRepository.save(order);
+        if (!missing.isEmpty()) {
+            for (Product product : productRepository.findAllById(missing)) {
+                products.put(product.getId(), product);
+            }
+        }
+        for (Long id : ids) {
+            if (!products.containsKey(id)) {
+                throw new RuntimeException("Product not found: " + id);
+            }
+        }
+        return products;
     }
 
     @Transactional
-    public Order updatePaymentStatus(Long id, String paymentStatus) {
-        Order order = orderRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Order not found: " + id));
-
-        order.setPaymentStatus(paymentStatus);
-        return orderRepository.save(order);
+    public OrderState updateOrderStatus(Long id, String status, Long expectedVersion) {
+        return orderTransitions.changeStatus(id, status, expectedVersion);
     }
 
     @Transactional
-    public Order updateTracking(Long id, String trackingNumber, LocalDateTime estimatedDeliveryDate) {
-        Order order = orderRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Order not found: " + id));
-
-        order.setTrackingNumber(trackingNumber);
-        if (estimatedDeliveryDate != null) {
-            order.setEstimatedDeliveryDate(estimatedDeliveryDate);
-        }
-
-        return orderRepository.save(order);
+    public OrderState updatePaymentStatus(Long id, String paymentStatus, Long expectedVersion) {
+        return orderTransitions.changePaymentStatus(id, paymentStatus, expectedVersion);
     }
 
-    private void validateStatusTransition(String currentStatus, String newStatus) {
-        // Define valid status transitions
-        Map<String, List<String>> validTransitions = Map.of(
-                "PENDING", List.of("CONFIRMED", "CANCELLED"),
-                "CONFIRMED", List.of("SHIPPED", "CANCELLED"),
-                "SHIPPED", List.of("DELIVERED", "CANCELLED"),
-                "DELIVERED", List.of(), // No transitions from delivered
-                "CANCELLED", List.of() // No transitions from cancelled
-        );
-
-        List<String> allowedTransitions = validTransitions.getOrDefault(currentStatus, List.of());
-        if (!allowedTransitions.contains(newStatus)) {
-            throw new RuntimeException("Invalid status transition from " + currentStatus + " to " + newStatus);
-        }
+    @Transactional
+    public OrderState updateTracking(Long id, String trackingNumber, LocalDateTime estimatedDeliveryDate, Long expectedVersion) {
+        return orderTransitions.changeTracking(id, trackingNumber, estimatedDeliveryDate, expectedVersion);
     }
 
     private OrderDTO convertToDTO(Order order) {
@@ -174,6 +259,7 @@ public class OrderService {
         dto.setNotes(order.getNotes());
         dto.setOrderDate(order.getOrderDate());
         dto.setLastUpdated(order.getLastUpdated());
+        dto.setVersion(order.getVersion());
 
         // Convert order items
         List<OrderDTO.OrderItemDTO> itemDTOs = order.getOrderItems().stream()
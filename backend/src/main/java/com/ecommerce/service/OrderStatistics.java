@@ -0,0 +1,147 @@
+package com.ecommerce.service;
+
+import com.ecommerce.model.Order;
+import com.ecommerce.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Order counts per status, payment status and payment method, kept in memory so the stats
+ * endpoint is a map read. Seeded from one GROUP BY query, updated when order transactions
+ * commit and periodically recounted to correct any drift.
+ */
+@Component
+public class OrderStatistics {
+
+    private static final List<String> STATUSES = List.of("PENDING", "CONFIRMED", "SHIPPED", "DELIVERED", "CANCELLED");
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private final AtomicReference<Counts> current = new AtomicReference<>();
+
+    private static final class Counts {
+        final LongAdder total = new LongAdder();
+        final Map<String, LongAdder> byStatus = new ConcurrentHashMap<>();
+        final Map<String, LongAdder> byPaymentStatus = new ConcurrentHashMap<>();
+        final Map<String, LongAdder> byPaymentMethod = new ConcurrentHashMap<>();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        resync();
+    }
+
+    @Scheduled(fixedDelayString = "${orders.stats.resync-interval-ms:300000}",
+            initialDelayString = "${orders.stats.resync-interval-ms:300000}")
+    public void resync() {
+        Counts fresh = new Counts();
+        for (Object[] row : orderRepository.countByStatusAndPayment()) {
+            long count = ((Number) row[3]).longValue();
+            fresh.total.add(count);
+            add(fresh.byStatus, (String) row[0], count);
+            add(fresh.byPaymentStatus, (String) row[1], count);
+            add(fresh.byPaymentMethod, (String) row[2], count);
+        }
+        current.set(fresh);
+    }
+
+    public Map<String, Object> snapshot() {
+        Counts counts = counts();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("total", counts.total.sum());
+        for (String status : STATUSES) {
+            stats.put(status.toLowerCase(Locale.ROOT), sum(counts.byStatus, status));
+        }
+        stats.put("paymentStatus", toMap(counts.byPaymentStatus));
+        stats.put("paymentMethod", toMap(counts.byPaymentMethod));
+        return stats;
+    }
+
+    public void orderCreated(Order order) {
+        afterCommit(counts -> {
+            counts.total.increment();
+            add(counts.byStatus, order.getStatus(), 1);
+            add(counts.byPaymentStatus, order.getPaymentStatus(), 1);
+            add(counts.byPaymentMethod, order.getPaymentMethod(), 1);
+        });
+    }
+
+    public void statusChanged(String from, String to) {
+        afterCommit(counts -> move(counts.byStatus, from, to));
+    }
+
+    public void paymentStatusChanged(String from, String to) {
+        afterCommit(counts -> move(counts.byPaymentStatus, from, to));
+    }
+
+    // Every payment status counted so far, which covers every value stored on an order
+    public List<String> paymentStatuses() {
+        return List.copyOf(counts().byPaymentStatus.keySet());
+    }
+
+    private Counts counts() {
+        Counts counts = current.get();
+        if (counts == null) {
+            synchronized (this) {
+                if (current.get() == null) {
+                    resync();
+                }
+                counts = current.get();
+            }
+        }
+        return counts;
+    }
+
+    private void afterCommit(Consumer<Counts> update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.accept(counts());
+                }
+            });
+        } else {
+            update.accept(counts());
+        }
+    }
+
+    private static void move(Map<String, LongAdder> counters, String from, String to) {
+        if (from != null && from.equals(to)) {
+            return;
+        }
+        add(counters, from, -1);
+        add(counters, to, 1);
+    }
+
+    private static void add(Map<String, LongAdder> counters, String key, long delta) {
+        if (key != null) {
+            counters.computeIfAbsent(key, k -> new LongAdder()).add(delta);
+        }
+    }
+
+    private static long sum(Map<String, LongAdder> counters, String key) {
+        LongAdder adder = counters.get(key);
+        return adder == null ? 0L : adder.sum();
+    }
+
+    private static Map<String, Long> toMap(Map<String, LongAdder> counters) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        counters.forEach((key, adder) -> result.put(key.toLowerCase(Locale.ROOT), adder.sum()));
+        return result;
+    }
+}
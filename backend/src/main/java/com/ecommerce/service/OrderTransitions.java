@@ -0,0 +1,210 @@
+package com.ecommerce.service;
+
+import com.ecommerce.dto.OrderEvent;
+import com.ecommerce.dto.OrderState;
+import com.ecommerce.model.OrderStatus;
+import com.ecommerce.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies order status, payment and tracking changes as conditional UPDATEs instead of
+ * load-modify-save. Only the changed columns are written, the transition rule and the optional
+ * expected version are part of the WHERE clause, and the new state is returned from what was
+ * written. The order row is only read when an update matched nothing, to say why.
+ */
+@Component
+public class OrderTransitions {
+
+    static final String STATUS_SQL =
+            "UPDATE orders SET status = ?, last_updated = ?, version = version + 1 WHERE id = ? AND status = ?";
+    static final String DELIVERED_SQL =
+            "UPDATE orders SET status = ?, last_updated = ?, version = version + 1, delivered_date = COALESCE(delivered_date, ?) " +
+                    "WHERE id = ? AND status = ?";
+    static final String PAYMENT_SQL =
+            "UPDATE orders SET payment_status = ?, last_updated = ?, version = version + 1 WHERE id = ? AND payment_status = ?";
+    static final String TRACKING_SQL =
+            "UPDATE orders SET tracking_number = ?, estimated_delivery_date = COALESCE(?, estimated_delivery_date), " +
+                    "last_updated = ?, version = version + 1 WHERE id = ?";
+    private static final String VERSION_CHECK = " AND version = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderStatistics orderStatistics;
+
+    @Autowired
+    private OrderEventBroadcaster orderEvents;
+
+    /**
+     * Moves the order to {@code status} from whichever status allows it. The rule
+     * {@code status IN (sources)} is sent as one batched statement per source status, a single
+     * round trip in which at most one statement can match, so the previous status is known
+     * without reading the row.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public OrderState changeStatus(Long id, String status, Long expectedVersion) {
+        OrderStatus target = OrderStatus.parse(status);
+        LocalDateTime now = LocalDateTime.now();
+        boolean delivered = target == OrderStatus.DELIVERED;
+
+        List<OrderStatus> sources = List.copyOf(target.sources());
+        List<Object[]> batch = new ArrayList<>(sources.size());
+        for (OrderStatus source : sources) {
+            batch.add(delivered
+                    ? withVersion(expectedVersion, target.name(), now, now, id, source.name())
+                    : withVersion(expectedVersion, target.name(), now, id, source.name()));
+        }
+        int[] updated = batch.isEmpty() ? new int[0]
+                : jdbcTemplate.batchUpdate(withVersion(delivered ? DELIVERED_SQL : STATUS_SQL, expectedVersion), batch);
+
+        OrderStatus previous = null;
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] > 0) {
+                previous = sources.get(i);
+            }
+        }
+        if (previous == null) {
+            throw rejection(id, expectedVersion, target);
+        }
+
+        orderStatistics.statusChanged(previous.name(), target.name());
+        OrderState state = new OrderState(id, now, expectedVersion);
+        state.setStatus(target.name());
+        state.setPreviousStatus(previous.name());
+        if (delivered) {
+            state.setDeliveredDate(now);
+        }
+        publish(OrderEvent.STATUS, id);
+        return state;
+    }
+
+    /**
+     * Sets the payment status the same way {@link #changeStatus} sets the status: one batched
+     * statement per payment status the statistics have counted, so the replaced value is known
+     * without reading the row. Payment statuses are free-form; a value committed elsewhere and
+     * not counted yet is read and matched with one more statement.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public OrderState changePaymentStatus(Long id, String paymentStatus, Long expectedVersion) {
+        if (paymentStatus == null || paymentStatus.isBlank()) {
+            throw new RuntimeException("Payment status is required");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<String> sources = orderStatistics.paymentStatuses();
+        String previous = changePayment(id, paymentStatus, expectedVersion, now, sources);
+        if (previous == null) {
+            Map<String, Object> row = row(id);
+            String stored = row == null ? null : (String) row.get("payment_status");
+            if (stored != null && !sources.contains(stored)) {
+                previous = changePayment(id, paymentStatus, expectedVersion, now, List.of(stored));
+            }
+            if (previous == null) {
+                throw rejection(id, expectedVersion, null, row);
+            }
+        }
+
+        orderStatistics.paymentStatusChanged(previous, paymentStatus);
+        OrderState state = new OrderState(id, now, expectedVersion);
+        state.setPaymentStatus(paymentStatus);
+        state.setPreviousPaymentStatus(previous);
+        publish(OrderEvent.PAYMENT, id);
+        return state;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public OrderState changeTracking(Long id, String trackingNumber, LocalDateTime estimatedDeliveryDate, Long expectedVersion) {
+        LocalDateTime now = LocalDateTime.now();
+        if (jdbcTemplate.update(withVersion(TRACKING_SQL, expectedVersion),
+                withVersion(expectedVersion, trackingNumber, estimatedDeliveryDate, now, id)) == 0) {
+            throw rejection(id, expectedVersion, null);
+        }
+
+        OrderState state = new OrderState(id, now, expectedVersion);
+        state.setTrackingNumber(trackingNumber);
+        state.setEstimatedDeliveryDate(estimatedDeliveryDate);
+        publish(OrderEvent.TRACKING, id);
+        return state;
+    }
+
+    // Returns the payment status that was replaced, or null if no statement matched
+    private String changePayment(Long id, String paymentStatus, Long expectedVersion, LocalDateTime now, List<String> sources) {
+        List<Object[]> batch = new ArrayList<>(sources.size());
+        for (String source : sources) {
+            batch.add(withVersion(expectedVersion, paymentStatus, now, id, source));
+        }
+        int[] updated = batch.isEmpty() ? new int[0] : jdbcTemplate.batchUpdate(withVersion(PAYMENT_SQL, expectedVersion), batch);
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] > 0) {
+                return sources.get(i);
+            }
+        }
+        return null;
+    }
+
+    private RuntimeException rejection(Long id, Long expectedVersion, OrderStatus target) {
+        return rejection(id, expectedVersion, target, row(id));
+    }
+
+    private Map<String, Object> row(Long id) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList("SELECT status, payment_status, version FROM orders WHERE id = ?", id);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    /**
+     * Explains why an update matched nothing, given the order's current status and version
+     * ({@code null} row if it does not exist): missing order, stale version or illegal transition.
+     */
+    static RuntimeException rejection(Long id, Long expectedVersion, OrderStatus target, Map<String, Object> row) {
+        if (row == null) {
+            return new RuntimeException("Order not found: " + id);
+        }
+        String status = (String) row.get("status");
+        Long version = ((Number) row.get("version")).longValue();
+        if (expectedVersion != null && !expectedVersion.equals(version)) {
+            return new OrderVersionConflictException(id, expectedVersion, version);
+        }
+        if (target != null) {
+            try {
+                OrderStatus.validateTransition(status, target.name());
+            } catch (RuntimeException e) {
+                return e;
+            }
+        }
+        // The row changed between the update and this read
+        return new OrderVersionConflictException(id);
+    }
+
+    // Events carry the full order, so it is only read back when someone is subscribed
+    private void publish(String type, Long id) {
+        if (orderEvents.hasSubscribers()) {
+            orderRepository.findById(id).ifPresent(order -> orderEvents.publish(type, order));
+        }
+    }
+
+    static String withVersion(String sql, Long expectedVersion) {
+        return expectedVersion == null ? sql : sql + VERSION_CHECK;
+    }
+
+    static Object[] withVersion(Long expectedVersion, Object... args) {
+        if (expectedVersion == null) {
+            return args;
+        }
+        Object[] withVersion = Arrays.copyOf(args, args.length + 1);
+        withVersion[args.length] = expectedVersion;
+        return withVersion;
+    }
+}
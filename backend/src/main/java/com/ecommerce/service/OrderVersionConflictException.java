@@ -0,0 +1,13 @@
+package com.ecommerce.service;
+
+public class OrderVersionConflictException extends RuntimeException {
+
+    public OrderVersionConflictException(Long id, Long expectedVersion, Long actualVersion) {
+        super("Order " + id + " was modified concurrently (expected version " + expectedVersion
+                + ", found " + actualVersion + ")");
+    }
+
+    public OrderVersionConflictException(Long id) {
+        super("Order " + id + " was modified concurrently, retry the update");
+    }
+}
@@ -0,0 +1,194 @@
+package com.ecommerce.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads a product import body one record at a time, so the file is never held in memory.
+ * CSV needs a header row and may quote fields (RFC 4180, including line breaks inside quotes);
+ * NDJSON is one object per line. Field names are lower-cased and empty values become null.
+ * A record that cannot be parsed is returned with an error instead of ending the import.
+ */
+abstract class ProductImportParser {
+
+    record Record(long line, Map<String, String> fields, String error) {
+
+        static Record failure(long line, String error) {
+            return new Record(line, Map.of(), error);
+        }
+    }
+
+    final BufferedReader reader;
+    long line = 1;
+
+    private ProductImportParser(InputStream in) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    static ProductImportParser csv(InputStream in) {
+        return new Csv(in);
+    }
+
+    static ProductImportParser ndjson(InputStream in, ObjectMapper objectMapper) {
+        return new Ndjson(in, objectMapper);
+    }
+
+    // Returns null once the input is exhausted
+    abstract Record next() throws IOException;
+
+    static String normalizeName(String name) {
+        String trimmed = name.strip();
+        if (!trimmed.isEmpty() && trimmed.charAt(0) == '﻿') {
+            trimmed = trimmed.substring(1);
+        }
+        return trimmed.toLowerCase(Locale.ROOT);
+    }
+
+    static String normalizeValue(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.strip();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private static final class Csv extends ProductImportParser {
+
+        private List<String> header;
+
+        Csv(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        Record next() throws IOException {
+            if (header == null) {
+                List<String> names = readRecord();
+                if (names == null) {
+                    return null;
+                }
+                header = new ArrayList<>(names.size());
+                names.forEach(name -> header.add(normalizeName(name)));
+            }
+
+            List<String> values;
+            long start;
+            do {
+                start = line;
+                values = readRecord();
+                if (values == null) {
+                    return null;
+                }
+            } while (values.size() == 1 && values.get(0).isBlank());
+
+            if (values.size() != header.size()) {
+                return Record.failure(start, "Expected " + header.size() + " fields but found " + values.size());
+            }
+            Map<String, String> fields = new HashMap<>();
+            for (int i = 0; i < values.size(); i++) {
+                fields.put(header.get(i), normalizeValue(values.get(i)));
+            }
+            return new Record(start, fields, null);
+        }
+
+        private List<String> readRecord() throws IOException {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean read = false;
+            int c;
+            while ((c = reader.read()) != -1) {
+                read = true;
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        int following = reader.read();
+                        if (following == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            if (following != -1) {
+                                reader.reset();
+                            }
+                        }
+                    } else {
+                        if (c == '\n') {
+                            line++;
+                        }
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    line++;
+                    fields.add(field.toString());
+                    return fields;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+            }
+            if (!read) {
+                return null;
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+
+    private static final class Ndjson extends ProductImportParser {
+
+        private final ObjectMapper objectMapper;
+
+        Ndjson(InputStream in, ObjectMapper objectMapper) {
+            super(in);
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        Record next() throws IOException {
+            String text;
+            long start;
+            do {
+                start = line;
+                text = reader.readLine();
+                if (text == null) {
+                    return null;
+                }
+                line++;
+            } while (text.isBlank());
+
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(text);
+            } catch (JsonProcessingException e) {
+                return Record.failure(start, "Malformed JSON: " + e.getOriginalMessage());
+            }
+            if (!node.isObject()) {
+                return Record.failure(start, "Expected a JSON object");
+            }
+            Map<String, String> fields = new HashMap<>();
+            for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> field = it.next();
+                JsonNode value = field.getValue();
+                fields.put(normalizeName(field.getKey()), value.isNull() ? null : normalizeValue(value.asText()));
+            }
+            return new Record(start, fields, null);
+        }
+    }
+}
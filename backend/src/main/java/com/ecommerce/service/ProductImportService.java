@@ -0,0 +1,393 @@
+package com.ecommerce.service;
+
+import com.ecommerce.catalog.CatalogSnapshot;
+import com.ecommerce.catalog.ProductCatalog;
+import com.ecommerce.dto.ProductImportReport;
+import com.ecommerce.inventory.HotSkuInventory;
+import com.ecommerce.model.Category;
+import com.ecommerce.model.Product;
+import com.ecommerce.repository.CategoryRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Upserts products keyed on {@code sku} from a streamed CSV or NDJSON body. Rows are written
+ * as JDBC batches, {@code products.import.batch-size} per transaction, so a failing batch only
+ * loses its own rows. A column that is missing or empty keeps the stored value on update and
+ * takes the entity default on insert. Categories are resolved by name once per import, and the
+ * catalog, search index and second-level cache are refreshed once at the end instead of per row.
+ * Only one import runs at a time; {@link #latest()} reports its progress while it runs.
+ */
+@Service
+public class ProductImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductImportService.class);
+
+    public static final String CSV = "csv";
+    public static final String NDJSON = "ndjson";
+
+    private static final String UPDATE_SQL = "UPDATE products SET name = COALESCE(?, name), " +
+            "description = COALESCE(?, description), price = COALESCE(?, price), image_url = COALESCE(?, image_url), " +
+            "stock = COALESCE(?, stock), category_id = COALESCE(?, category_id), hot_sku = COALESCE(?, hot_sku) " +
+            "WHERE id = ?";
+
+    private static final String INSERT_SQL = "INSERT INTO products " +
+            "(id, sku, name, description, price, image_url, stock, category_id, hot_sku) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductCatalog productCatalog;
+
+    @Autowired
+    private HotSkuInventory hotSkuInventory;
+
+    @Autowired
+    private EntityIds entityIds;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${products.import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${products.import.max-errors:100}")
+    private int maxErrors;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicReference<ProductImportReport> latest = new AtomicReference<>();
+
+    // One parsed record; null fields were not given
+    private record Row(long line, String sku, String name, String description, BigDecimal price, String imageUrl,
+                       Integer stock, Long categoryId, Boolean hotSku) {
+    }
+
+    // Outcome of one committed batch
+    private record Written(int created, int updated, List<Long> stockIds, List<ProductImportReport.RowError> rejected) {
+    }
+
+    public Optional<ProductImportReport> latest() {
+        return Optional.ofNullable(latest.get());
+    }
+
+    public ProductImportReport importProducts(String format, InputStream in) {
+        ProductImportParser parser;
+        if (CSV.equals(format)) {
+            parser = ProductImportParser.csv(in);
+        } else if (NDJSON.equals(format)) {
+            parser = ProductImportParser.ndjson(in, objectMapper);
+        } else {
+            throw new IllegalArgumentException("Unsupported import format: " + format);
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A product import is already running");
+        }
+
+        Progress progress = new Progress(format);
+        Set<Long> stockChanged = new HashSet<>();
+        try {
+            progress.publish();
+            Map<String, Optional<Long>> categories = new HashMap<>();
+            List<Row> batch = new ArrayList<>(batchSize);
+            Set<String> batchSkus = new HashSet<>();
+
+            ProductImportParser.Record record;
+            while ((record = parser.next()) != null) {
+                progress.processed++;
+                Row row;
+                try {
+                    row = toRow(record, categories);
+                } catch (RuntimeException e) {
+                    progress.fail(record.line(), record.fields().get("sku"), e.getMessage());
+                    continue;
+                }
+                // A second row for the same sku must see the first, so write what is queued before it
+                if (batch.size() == batchSize || batchSkus.contains(row.sku())) {
+                    write(batch, progress, stockChanged);
+                    batch.clear();
+                    batchSkus.clear();
+                }
+                batch.add(row);
+                batchSkus.add(row.sku());
+            }
+            write(batch, progress, stockChanged);
+        } catch (IOException | RuntimeException e) {
+            // Batches written so far stay committed; the report says where the upload stopped, the log why
+            progress.abortedBy = e instanceof IOException ? "Reading the upload failed" : "Unexpected error, see the server log";
+            log.warn("Product import aborted after {} records", progress.processed, e);
+        } finally {
+            try {
+                if (progress.created + progress.updated > 0) {
+                    refresh(stockChanged);
+                }
+            } finally {
+                progress.finishedAt = LocalDateTime.now();
+                progress.publish();
+                running.set(false);
+            }
+        }
+        log.info("Product import finished: {} records, {} created, {} updated, {} failed",
+                progress.processed, progress.created, progress.updated, progress.failed);
+        return latest.get();
+    }
+
+    private Row toRow(ProductImportParser.Record record, Map<String, Optional<Long>> categories) {
+        if (record.error() != null) {
+            throw new RuntimeException(record.error());
+        }
+        Map<String, String> fields = record.fields();
+        String sku = fields.get("sku");
+        if (sku == null) {
+            throw new RuntimeException("sku is required");
+        }
+        // Checked against the column sizes here, so one oversized value fails its row and not the batch
+        checkLength("sku", sku, 64);
+        checkLength("name", fields.get("name"), 255);
+        checkLength("description", fields.get("description"), 1000);
+        checkLength("imageUrl", fields.get("imageurl"), 255);
+
+        BigDecimal price = null;
+        if (fields.get("price") != null) {
+            try {
+                price = new BigDecimal(fields.get("price"));
+            } catch (NumberFormatException e) {
+                throw new RuntimeException("Invalid price: " + fields.get("price"));
+            }
+            if (price.signum() < 0) {
+                throw new RuntimeException("price must not be negative");
+            }
+            if (price.precision() - price.scale() > 36) {
+                throw new RuntimeException("price is too large");
+            }
+        }
+
+        Integer stock = null;
+        if (fields.get("stock") != null) {
+            try {
+                stock = Integer.valueOf(fields.get("stock"));
+            } catch (NumberFormatException e) {
+                throw new RuntimeException("Invalid stock: " + fields.get("stock"));
+            }
+            if (stock < 0) {
+                throw new RuntimeException("stock must not be negative");
+            }
+        }
+
+        Boolean hotSku = null;
+        String hot = fields.get("hotsku");
+        if (hot != null) {
+            hotSku = switch (hot.toLowerCase(Locale.ROOT)) {
+                case "true", "1" -> true;
+                case "false", "0" -> false;
+                default -> throw new RuntimeException("Invalid hotSku: " + hot);
+            };
+        }
+
+        Long categoryId = null;
+        String categoryName = fields.get("category");
+        if (categoryName != null) {
+            categoryId = categories.computeIfAbsent(categoryName,
+                            name -> categoryRepository.findByName(name).map(Category::getId))
+                    .orElseThrow(() -> new RuntimeException("Unknown category: " + categoryName));
+        }
+
+        return new Row(record.line(), sku, fields.get("name"), fields.get("description"), price, fields.get("imageurl"),
+                stock, categoryId, hotSku);
+    }
+
+    private static void checkLength(String field, String value, int max) {
+        if (value != null && value.length() > max) {
+            throw new RuntimeException(field + " is longer than " + max + " characters");
+        }
+    }
+
+    private void write(List<Row> batch, Progress progress, Set<Long> stockChanged) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            Written written = new TransactionTemplate(transactionManager).execute(status -> upsert(batch));
+            progress.created += written.created();
+            progress.updated += written.updated();
+            stockChanged.addAll(written.stockIds());
+            written.rejected().forEach(error -> progress.fail(error.getLine(), error.getSku(), error.getError()));
+        } catch (RuntimeException e) {
+            // The batch rolled back, so none of its rows were written
+            log.warn("Product import batch of {} rows failed", batch.size(), e);
+            batch.forEach(row -> progress.fail(row.line(), row.sku(), "Not written, the batch failed"));
+        }
+        progress.publish();
+    }
+
+    private Written upsert(List<Row> batch) {
+        Map<String, Long> existing = new HashMap<>();
+        Set<Long> hot = new HashSet<>();
+        String placeholders = String.join(",", Collections.nCopies(batch.size(), "?"));
+        jdbcTemplate.query("SELECT id, sku, hot_sku FROM products WHERE sku IN (" + placeholders + ")",
+                rs -> {
+                    existing.put(rs.getString(2), rs.getLong(1));
+                    if (rs.getBoolean(3)) {
+                        hot.add(rs.getLong(1));
+                    }
+                },
+                batch.stream().map(Row::sku).toArray());
+
+        List<Row> inserts = new ArrayList<>();
+        List<Map.Entry<Long, Row>> updates = new ArrayList<>();
+        List<ProductImportReport.RowError> rejected = new ArrayList<>();
+        List<Long> stockIds = new ArrayList<>();
+        for (Row row : batch) {
+            Long id = existing.get(row.sku());
+            if (id != null) {
+                updates.add(Map.entry(id, row));
+                if (row.stock() != null || (row.hotSku() != null && row.hotSku() != hot.contains(id))) {
+                    stockIds.add(id);
+                }
+            } else if (row.name() == null || row.price() == null) {
+                rejected.add(new ProductImportReport.RowError(row.line(), row.sku(), "name and price are required for a new product"));
+            } else {
+                inserts.add(row);
+            }
+        }
+
+        // Rows are locked in id order so concurrent writers cannot deadlock with the import
+        updates.sort(Map.Entry.comparingByKey(Comparator.naturalOrder()));
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, updates, updates.size(), (ps, update) -> {
+                Row row = update.getValue();
+                ps.setString(1, row.name());
+                ps.setString(2, row.description());
+                ps.setBigDecimal(3, row.price());
+                ps.setString(4, row.imageUrl());
+                setNullable(ps, 5, row.stock(), Types.INTEGER);
+                setNullable(ps, 6, row.categoryId(), Types.BIGINT);
+                setNullable(ps, 7, row.hotSku(), Types.BOOLEAN);
+                ps.setLong(8, update.getKey());
+            });
+        }
+
+        long[] ids = entityIds.allocate(Product.class, inserts.size());
+        List<Map.Entry<Long, Row>> rows = new ArrayList<>(inserts.size());
+        for (int i = 0; i < inserts.size(); i++) {
+            rows.add(Map.entry(ids[i], inserts.get(i)));
+            if (Boolean.TRUE.equals(inserts.get(i).hotSku())) {
+                stockIds.add(ids[i]);
+            }
+        }
+        if (rows.isEmpty()) {
+            return new Written(0, updates.size(), stockIds, rejected);
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, insert) -> {
+            Row row = insert.getValue();
+            ps.setLong(1, insert.getKey());
+            ps.setString(2, row.sku());
+            ps.setString(3, row.name());
+            ps.setString(4, row.description());
+            ps.setBigDecimal(5, row.price());
+            ps.setString(6, row.imageUrl());
+            ps.setInt(7, row.stock() == null ? 0 : row.stock());
+            setNullable(ps, 8, row.categoryId(), Types.BIGINT);
+            ps.setBoolean(9, Boolean.TRUE.equals(row.hotSku()));
+        });
+
+        return new Written(inserts.size(), updates.size(), stockIds, rejected);
+    }
+
+    private static void setNullable(PreparedStatement ps, int index, Object value, int sqlType) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, sqlType);
+        } else {
+            ps.setObject(index, value, sqlType);
+        }
+    }
+
+    /**
+     * The batches bypassed Hibernate, so the cached product state is dropped and the catalog
+     * (and with it the search index) is rebuilt once. Hot products whose stock or flag was
+     * imported take the stored stock as their new truth, as after an admin edit.
+     */
+    private void refresh(Set<Long> stockChanged) {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData(Product.class);
+        cache.evictCollectionData(Category.class.getName() + ".products");
+        cache.evictQueryRegions();
+        productCatalog.reload();
+
+        CatalogSnapshot snapshot = productCatalog.snapshot();
+        for (Long id : stockChanged) {
+            snapshot.getProduct(id)
+                    .filter(product -> Boolean.TRUE.equals(product.getHotSku()) || hotSkuInventory.isHot(id))
+                    .ifPresent(hotSkuInventory::productSaved);
+        }
+    }
+
+    private final class Progress {
+
+        final String format;
+        final LocalDateTime startedAt = LocalDateTime.now();
+        LocalDateTime finishedAt;
+        long processed;
+        long created;
+        long updated;
+        long failed;
+        String abortedBy;
+        final List<ProductImportReport.RowError> errors = new ArrayList<>();
+
+        Progress(String format) {
+            this.format = format;
+        }
+
+        void fail(long line, String sku, String error) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new ProductImportReport.RowError(line, sku, error));
+            }
+        }
+
+        // Readers get a copy, so the counters never change under them
+        void publish() {
+            latest.set(new ProductImportReport(format, finishedAt == null, startedAt, finishedAt, processed,
+                    created, updated, failed, abortedBy, List.copyOf(errors)));
+        }
+    }
+}
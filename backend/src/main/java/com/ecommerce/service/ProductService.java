@@ -1,12 +1,21 @@
 package com.ecommerce.service;
 
+import com.ecommerce.catalog.CatalogSnapshot;
+import com.ecommerce.catalog.ProductCatalog;
+import com.ecommerce.dto.KeysetPage;
+import com.ecommerce.dto.PageCursor;
+import com.ecommerce.inventory.HotSkuInventory;
 import com.ecommerce.model.Product;
 import com.ecommerce.repository.ProductRepository;
+import com.ecommerce.search.ProductSearchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 public class ProductService {
@@ -14,24 +23,77 @@ public class ProductService {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private ProductCatalog productCatalog;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private HotSkuInventory hotSkuInventory;
+
     public List<Product> getAllProducts() {
-        return productRepository.findAll();
+        return productCatalog.withCurrentStock(productCatalog.snapshot().getProducts());
     }
 
     public Optional<Product> getProductById(Long id) {
-        return productRepository.findById(id);
+        return productCatalog.snapshot().getProduct(id).map(productCatalog::withCurrentStock);
     }
 
-    public List<Product> getProductsByCategory(Long categoryId) {
-        return productRepository.findByCategoryId(categoryId);
+    /**
+     * Keyset page over the catalog snapshot, ordered by id or by (price, id). The cursor is
+     * located with a binary search, so deep pages cost the same as the first one.
+     */
+    public KeysetPage<Product> getProductPage(Long categoryId, boolean byPrice, String cursor, int limit) {
+        CatalogSnapshot snapshot = productCatalog.snapshot();
+        List<Product> sorted;
+        if (categoryId != null) {
+            sorted = byPrice ? snapshot.getProductsByCategoryAndPrice(categoryId) : snapshot.getProductsByCategory(categoryId);
+        } else {
+            sorted = byPrice ? snapshot.getProductsByPrice() : snapshot.getProducts();
+        }
+
+        int from = 0;
+        if (cursor != null) {
+            Product after = new Product();
+            if (byPrice) {
+                String[] key = PageCursor.decode(cursor, 2);
+                after.setPrice(new BigDecimal(key[0]));
+                after.setId(Long.parseLong(key[1]));
+            } else {
+                after.setId(Long.parseLong(PageCursor.decode(cursor, 1)[0]));
+            }
+            int position = Collections.binarySearch(sorted, after, byPrice ? CatalogSnapshot.BY_PRICE : CatalogSnapshot.BY_ID);
+            from = position >= 0 ? position + 1 : -position - 1;
+        }
+
+        List<Product> rows = productCatalog.withCurrentStock(sorted.subList(from, Math.min(sorted.size(), from + limit + 1)));
+        return KeysetPage.of(rows, limit, byPrice
+                ? p -> PageCursor.encode(p.getPrice(), p.getId())
+                : p -> PageCursor.encode(p.getId()));
     }
 
-    public List<Product> searchProducts(String keyword) {
-        return productRepository.findByNameContainingIgnoreCase(keyword);
+    // Search results are ranked, not keyed, so the cursor is a position in the capped result list
+    public KeysetPage<Product> searchProducts(String keyword, String cursor, int limit) {
+        CatalogSnapshot snapshot = productCatalog.snapshot();
+        List<Product> ranked = productSearchIndex.search(keyword).stream()
+                .map(snapshot::getProduct)
+                .flatMap(Optional::stream)
+                .collect(Collectors.toList());
+
+        int from = 0;
+        if (cursor != null) {
+            from = Math.max(0, Math.min(ranked.size(), Integer.parseInt(PageCursor.decode(cursor, 1)[0])));
+        }
+        int to = Math.min(ranked.size(), from + limit);
+        return new KeysetPage<>(productCatalog.withCurrentStock(ranked.subList(from, to)), to < ranked.size() ? PageCursor.encode(to) : null);
     }
 
     public Product createProduct(Product product) {
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        hotSkuInventory.productSaved(saved);
+        productCatalog.productSaved(saved);
+        return saved;
     }
 
     public Product updateProduct(Long id, Product productDetails) {
@@ -44,11 +106,22 @@ public class ProductService {
         product.setImageUrl(productDetails.getImageUrl());
         product.setStock(productDetails.getStock());
         product.setCategory(productDetails.getCategory());
+        if (productDetails.getSku() != null) {
+            product.setSku(productDetails.getSku());
+        }
+        if (productDetails.getHotSku() != null) {
+            product.setHotSku(productDetails.getHotSku());
+        }
         
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        hotSkuInventory.productSaved(saved);
+        productCatalog.productSaved(saved);
+        return saved;
     }
 
     public void deleteProduct(Long id) {
         productRepository.deleteById(id);
+        hotSkuInventory.productDeleted(id);
+        productCatalog.productDeleted(id);
     }
 }
@@ -0,0 +1,94 @@
+package com.ecommerce.service;
+
+import com.ecommerce.catalog.ProductCatalog;
+import com.ecommerce.inventory.HotSkuInventory;
+import com.ecommerce.model.Product;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+@Service
+public class StockReservationService {
+
+    // The stock check and the decrement are one statement, so concurrent checkouts can never oversell
+    private static final String RESERVE_SQL = "UPDATE products SET stock = stock - ? WHERE id = ? AND stock >= ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProductCatalog productCatalog;
+
+    @Autowired
+    private HotSkuInventory hotSkuInventory;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Decrements stock for every line of an order in a single JDBC batch (one round trip).
+     * Rows are updated in ascending id order so concurrent orders lock them in the same order
+     * and cannot deadlock. Any line without enough stock fails the caller's transaction.
+     * Hot SKU lines are admitted by {@link HotSkuInventory} instead; their ids are returned so
+     * the caller can mark those order items for reconciliation.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Set<Long> reserve(Map<Long, Integer> quantities) {
+        Map<Long, Integer> hot = hotSkuInventory.reserve(quantities);
+
+        TreeMap<Long, Integer> rowLines = new TreeMap<>(quantities);
+        rowLines.keySet().removeAll(hot.keySet());
+        List<Map.Entry<Long, Integer>> lines = new ArrayList<>(rowLines.entrySet());
+        if (!lines.isEmpty()) {
+            reserveRows(lines);
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                // The batch bypassed Hibernate, so drop the second-level cache entries it made stale
+                rowLines.keySet().forEach(id -> entityManagerFactory.getCache().evict(Product.class, id));
+                productCatalog.stockReserved(quantities);
+            }
+        });
+        return hot.keySet();
+    }
+
+    private void reserveRows(List<Map.Entry<Long, Integer>> lines) {
+
+        int[] updated = jdbcTemplate.batchUpdate(RESERVE_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Map.Entry<Long, Integer> line = lines.get(i);
+                ps.setInt(1, line.getValue());
+                ps.setLong(2, line.getKey());
+                ps.setInt(3, line.getValue());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return lines.size();
+            }
+        });
+
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                throw new RuntimeException("Insufficient stock for product: " + lines.get(i).getKey());
+            }
+        }
+    }
+}
@@ -1,24 +1,30 @@
 package com.ecommerce.service;
 
+import com.ecommerce.account.AccountAvailability;
 import com.ecommerce.model.User;
 import com.ecommerce.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
-public class UserService implements UserDetailsService {
+public class UserService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UserRepository userRepository;
@@ -27,14 +33,70 @@ public class UserService implements UserDetailsService {
     @Lazy
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private AccountAvailability accountAvailability;
+
+    @Value("${security.user-cache.ttl-ms:60000}")
+    private long userCacheTtlMillis;
+
+    // username -> details for token-authenticated requests, without the password hash
+    private final Map<String, CachedUser> userCache;
+
+    private record CachedUser(UserDetails details, long loadedAt) {
+    }
+
+    public UserService(@Value("${security.user-cache.max-entries:10000}") int userCacheSize) {
+        this.userCache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedUser> eldest) {
+                return size() > userCacheSize;
+            }
+        });
+    }
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+        return toUserDetails(user, user.getPassword());
+    }
+
+    /**
+     * Same as {@link #loadUserByUsername} but served from a bounded TTL cache, for requests
+     * already authenticated by token. The cached details carry no password, so they must not
+     * be used for password authentication.
+     */
+    public UserDetails loadCachedUserByUsername(String username) throws UsernameNotFoundException {
+        long now = System.currentTimeMillis();
+        CachedUser cached = userCache.get(username);
+        if (cached != null && now - cached.loadedAt() < userCacheTtlMillis) {
+            return cached.details();
+        }
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+        UserDetails details = toUserDetails(user, "");
+        userCache.put(username, new CachedUser(details, now));
+        return details;
+    }
+
+    // Called by the authentication provider after a successful login when the stored hash uses another BCrypt cost
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + userDetails.getUsername()));
+        user.setPassword(newPassword);
+        userRepository.save(user);
+        return toUserDetails(user, newPassword);
+    }
 
+    public void evictCachedUser(String username) {
+        userCache.remove(username);
+    }
+
+    private UserDetails toUserDetails(User user, String password) {
         return new org.springframework.security.core.userdetails.User(
                 user.getUsername(),
-                user.getPassword(),
+                password,
                 user.isEnabled(),
                 true,
                 true,
@@ -55,6 +117,7 @@ public class UserService implements UserDetailsService {
             user.setRoles(defaultRoles);
         }
 
+        accountAvailability.accountCreated(user.getUsername(), user.getEmail());
         return userRepository.save(user);
     }
 
@@ -66,12 +129,13 @@ public class UserService implements UserDetailsService {
         return userRepository.findByEmail(email);
     }
 
+    // The filter answers "definitely free" without a query; only possible hits reach the database
     public boolean existsByUsername(String username) {
-        return userRepository.existsByUsername(username);
+        return accountAvailability.usernameMightBeTaken(username) && userRepository.existsByUsername(username);
     }
 
     public boolean existsByEmail(String email) {
-        return userRepository.existsByEmail(email);
+        return accountAvailability.emailMightBeTaken(email) && userRepository.existsByEmail(email);
     }
 
     public User updateUser(Long id, User userDetails) {
@@ -89,6 +153,8 @@ public class UserService implements UserDetailsService {
         }
 
         user.setUpdatedAt(LocalDateTime.now());
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        evictCachedUser(saved.getUsername());
+        return saved;
     }
 }
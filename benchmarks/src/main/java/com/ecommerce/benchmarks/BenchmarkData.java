@@ -0,0 +1,99 @@
+package com.ecommerce.benchmarks;
+
+import com.ecommerce.model.Category;
+import com.ecommerce.model.Order;
+import com.ecommerce.model.OrderItem;
+import com.ecommerce.model.Product;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixture builders and reflective access shared by the benchmarks. Private members of the
+ * backend are reached through method handles so production code keeps its visibility.
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static List<Product> products(int count) {
+        List<Category> categories = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            Category category = new Category();
+            category.setId((long) i);
+            category.setName("Category " + i);
+            category.setDescription("Description of category " + i);
+            categories.add(category);
+        }
+
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Product product = new Product();
+            product.setId((long) i);
+            product.setName("Product " + i);
+            product.setDescription("A reasonably long description for product " + i + " used in benchmarks");
+            product.setPrice(BigDecimal.valueOf(1000 + i, 2));
+            product.setImageUrl("https://images.example.com/products/" + i + ".jpg");
+            product.setStock(100);
+            product.setCategory(categories.get(i % categories.size()));
+            products.add(product);
+        }
+        return products;
+    }
+
+    static Order order(long id, int itemCount, List<Product> products) {
+        Order order = new Order();
+        order.setId(id);
+        order.setCustomerName("Customer " + id);
+        order.setCustomerEmail("customer" + id + "@example.com");
+        order.setCustomerPhone("555-0100");
+        order.setShippingAddress("1 Benchmark Street, Test City");
+        order.setStatus("PENDING");
+        order.setPaymentMethod("COD");
+        order.setPaymentStatus("PENDING");
+        order.setOrderDate(LocalDateTime.now());
+        order.setLastUpdated(LocalDateTime.now());
+
+        BigDecimal total = BigDecimal.ZERO;
+        List<OrderItem> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            Product product = products.get(i % products.size());
+            OrderItem item = new OrderItem();
+            item.setId(id * 10_000 + i);
+            item.setOrder(order);
+            item.setProduct(product);
+            item.setQuantity(1 + i % 3);
+            item.setPrice(product.getPrice());
+            items.add(item);
+            total = total.add(product.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())));
+        }
+        order.setOrderItems(items);
+        order.setTotalAmount(total);
+        return order;
+    }
+
+    static MethodHandle privateMethod(Class<?> owner, String name, MethodType type) {
+        try {
+            return MethodHandles.privateLookupIn(owner, MethodHandles.lookup()).findVirtual(owner, name, type);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static void setField(Object target, String name, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
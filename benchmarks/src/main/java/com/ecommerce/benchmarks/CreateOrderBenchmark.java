@@ -0,0 +1,98 @@
+package com.ecommerce.benchmarks;
+
+import com.ecommerce.EcommerceApplication;
+import com.ecommerce.catalog.ProductCatalog;
+import com.ecommerce.model.Order;
+import com.ecommerce.model.OrderItem;
+import com.ecommerce.model.Product;
+import com.ecommerce.service.OrderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end {@link OrderService#createOrder} against the full application context on an
+ * in-memory H2 database seeded by the regular DataInitializer. Stock is raised so that runs
+ * never fail on availability.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CreateOrderBenchmark {
+
+    @Param({"1", "5", "20", "50"})
+    public int itemsPerOrder;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private long[] productIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SpringApplication application = new SpringApplication(EcommerceApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        context = application.run(
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.hibernate.SQL=WARN");
+
+        context.getBean(JdbcTemplate.class).update("UPDATE products SET stock = 1000000000");
+        ProductCatalog catalog = context.getBean(ProductCatalog.class);
+        catalog.reload();
+        productIds = catalog.snapshot().getProducts().stream().mapToLong(Product::getId).toArray();
+        orderService = context.getBean(OrderService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Long createOrder() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Order order = new Order();
+        order.setCustomerName("Benchmark Customer");
+        order.setCustomerEmail("benchmark@example.com");
+        order.setCustomerPhone("555-0100");
+        order.setShippingAddress("1 Benchmark Street, Test City");
+
+        List<OrderItem> items = new ArrayList<>(itemsPerOrder);
+        for (int i = 0; i < itemsPerOrder; i++) {
+            Product product = new Product();
+            product.setId(productIds[random.nextInt(productIds.length)]);
+            OrderItem item = new OrderItem();
+            item.setProduct(product);
+            item.setQuantity(1);
+            items.add(item);
+        }
+        order.setOrderItems(items);
+        return orderService.createOrder(order).getId();
+    }
+}
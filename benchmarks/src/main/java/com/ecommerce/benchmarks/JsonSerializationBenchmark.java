@@ -0,0 +1,78 @@
+package com.ecommerce.benchmarks;
+
+import com.ecommerce.dto.OrderDTO;
+import com.ecommerce.model.Order;
+import com.ecommerce.model.Product;
+import com.ecommerce.service.OrderService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response serialization with an ObjectMapper configured the way Spring Boot configures it
+ * (registered modules, ISO dates).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"50", "500"})
+    public int size;
+
+    private ObjectWriter productWriter;
+    private ObjectWriter orderWriter;
+    private List<Product> products;
+    private List<OrderDTO> orders;
+
+    @Setup
+    public void setUp() throws Throwable {
+        ObjectMapper mapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        productWriter = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, Product.class));
+        orderWriter = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, OrderDTO.class));
+
+        products = BenchmarkData.products(size);
+
+        MethodHandle convertToDTO = BenchmarkData.privateMethod(OrderService.class,
+                "convertToDTO", MethodType.methodType(OrderDTO.class, Order.class));
+        OrderService orderService = new OrderService();
+        orders = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            orders.add((OrderDTO) convertToDTO.invokeExact(orderService, BenchmarkData.order(i, 10, products)));
+        }
+    }
+
+    @Benchmark
+    public byte[] products() throws Exception {
+        return productWriter.writeValueAsBytes(products);
+    }
+
+    @Benchmark
+    public byte[] orders() throws Exception {
+        return orderWriter.writeValueAsBytes(orders);
+    }
+}
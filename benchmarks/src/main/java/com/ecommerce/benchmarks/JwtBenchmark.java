@@ -0,0 +1,82 @@
+package com.ecommerce.benchmarks;
+
+import com.ecommerce.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.lang.invoke.MethodType;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and per-request verification. {@code parseThreeTimes} reproduces what the
+ * filter used to do per request (three full parses, each building a new key and parser).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final String SECRET = "mySecretKeyForJWTTokenGenerationThatIsAtLeast256BitsLongForHS256Algorithm";
+
+    private JwtUtil jwtUtil;
+    private UserDetails user;
+    private String token;
+
+    @Setup
+    public void setUp() throws Throwable {
+        jwtUtil = new JwtUtil();
+        BenchmarkData.setField(jwtUtil, "secret", SECRET);
+        BenchmarkData.setField(jwtUtil, "expiration", 86_400_000L);
+        BenchmarkData.setField(jwtUtil, "cacheTtlMillis", 300_000L);
+        BenchmarkData.setField(jwtUtil, "cacheMaxEntries", 10_000);
+        BenchmarkData.privateMethod(JwtUtil.class, "init", MethodType.methodType(void.class)).invoke(jwtUtil);
+
+        user = User.withUsername("benchmark").password("").roles("USER").build();
+        token = jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        Claims claims = jwtUtil.verify(token);
+        return jwtUtil.validateToken(claims, user);
+    }
+
+    @Benchmark
+    public boolean parseThreeTimes() {
+        String username = parse().getSubject();
+        String again = parse().getSubject();
+        Date expiration = parse().getExpiration();
+        return username.equals(again) && expiration.after(new Date());
+    }
+
+    @SuppressWarnings("deprecation")
+    private Claims parse() {
+        return Jwts.parser()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
@@ -0,0 +1,53 @@
+package com.ecommerce.benchmarks;
+
+import com.ecommerce.dto.OrderDTO;
+import com.ecommerce.model.Order;
+import com.ecommerce.service.OrderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link OrderService} DTO conversion of orders with many items. No Spring context or
+ * database is involved.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderConversionBenchmark {
+
+    private static final MethodHandle CONVERT_TO_DTO = BenchmarkData.privateMethod(OrderService.class,
+            "convertToDTO", MethodType.methodType(OrderDTO.class, Order.class));
+
+    @Param({"10", "100", "1000"})
+    public int itemCount;
+
+    private OrderService orderService;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        orderService = new OrderService();
+        order = BenchmarkData.order(1L, itemCount, BenchmarkData.products(500));
+    }
+
+    @Benchmark
+    public OrderDTO convertToDTO() throws Throwable {
+        return (OrderDTO) CONVERT_TO_DTO.invokeExact(orderService, order);
+    }
+}
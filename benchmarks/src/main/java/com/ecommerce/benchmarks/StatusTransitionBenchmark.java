@@ -0,0 +1,38 @@
+package com.ecommerce.benchmarks;
+
+import com.ecommerce.model.OrderStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order status transition checks, one valid transition per invocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StatusTransitionBenchmark {
+
+    private static final String[][] TRANSITIONS = {
+            {"PENDING", "CONFIRMED"}, {"CONFIRMED", "SHIPPED"}, {"SHIPPED", "DELIVERED"}, {"PENDING", "CANCELLED"}
+    };
+
+    private int next;
+
+    @Benchmark
+    public void validateStatusTransition() {
+        String[] transition = TRANSITIONS[next++ & 3];
+        OrderStatus.validateTransition(transition[0], transition[1]);
+    }
+}
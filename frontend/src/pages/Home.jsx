@@ -1,5 +1,5 @@
 import React, { useState, useEffect } from 'react';
-import { productAPI, categoryAPI } from '../services/api';
+import { productAPI, categoryAPI, nextCursor } from '../services/api';
 import ProductCard from '../components/ProductCard';
 
 const Home = () => {
@@ -8,6 +8,9 @@ const Home = () => {
   const [selectedCategory, setSelectedCategory] = useState(null);
   const [searchQuery, setSearchQuery] = useState('');
   const [loading, setLoading] = useState(true);
+  const [activeSearch, setActiveSearch] = useState(null);
+  const [cursor, setCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
 
   useEffect(() => {
     fetchCategories();
@@ -26,8 +29,11 @@ const Home = () => {
   const fetchProducts = async () => {
     try {
       setLoading(true);
+      setSelectedCategory(null);
+      setActiveSearch(null);
       const response = await productAPI.getAllProducts();
       setProducts(response.data);
+      setCursor(nextCursor(response));
     } catch (error) {
       console.error('Error fetching products:', error);
     } finally {
@@ -40,14 +46,13 @@ const Home = () => {
       setLoading(true);
       setSelectedCategory(categoryId);
       setSearchQuery('');
-      
-      if (categoryId === null) {
-        const response = await productAPI.getAllProducts();
-        setProducts(response.data);
-      } else {
-        const response = await productAPI.getProductsByCategory(categoryId);
-        setProducts(response.data);
-      }
+      setActiveSearch(null);
+
+      const response = categoryId === null
+        ? await productAPI.getAllProducts()
+        : await productAPI.getProductsByCategory(categoryId);
+      setProducts(response.data);
+      setCursor(nextCursor(response));
     } catch (error) {
       console.error('Error filtering products:', error);
     } finally {
@@ -65,8 +70,10 @@ const Home = () => {
     try {
       setLoading(true);
       setSelectedCategory(null);
+      setActiveSearch(searchQuery);
       const response = await productAPI.searchProducts(searchQuery);
       setProducts(response.data);
+      setCursor(nextCursor(response));
     } catch (error) {
       console.error('Error searching products:', error);
     } finally {
@@ -74,6 +81,24 @@ const Home = () => {
     }
   };
 
+  // Continues whichever listing is on screen: search, category or all products
+  const loadMore = async () => {
+    try {
+      setLoadingMore(true);
+      const response = activeSearch !== null
+        ? await productAPI.searchProducts(activeSearch, cursor)
+        : selectedCategory !== null
+          ? await productAPI.getProductsByCategory(selectedCategory, cursor)
+          : await productAPI.getAllProducts(cursor);
+      setProducts((current) => [...current, ...response.data]);
+      setCursor(nextCursor(response));
+    } catch (error) {
+      console.error('Error loading more products:', error);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   return (
     <div className="min-h-screen bg-gradient-to-br from-slate-50 via-blue-50 to-sky-50">
       {/* Hero Section */}
@@ -162,6 +187,17 @@ const Home = () => {
               ))}
             </div>
           )}
+          {!loading && cursor && (
+            <div className="flex justify-center">
+              <button
+                onClick={loadMore}
+                disabled={loadingMore}
+                className="px-8 py-3 bg-sky-500 hover:bg-sky-600 text-white font-semibold rounded-2xl shadow-lg hover:shadow-xl transition-all duration-300 disabled:opacity-50 disabled:cursor-not-allowed"
+              >
+                {loadingMore ? 'Loading...' : 'Load more'}
+              </button>
+            </div>
+          )}
         </div>
       </div>
     </div>
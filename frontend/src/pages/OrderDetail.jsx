@@ -13,6 +13,25 @@ const OrderDetail = () => {
     fetchOrderDetails();
   }, [id]);
 
+  // Live status, payment and tracking updates pushed by the server
+  useEffect(() => {
+    const source = orderAPI.subscribeToOrder(id);
+    const applyEvent = (event) => {
+      const update = JSON.parse(event.data);
+      setOrder((current) => current && {
+        ...current,
+        status: update.status,
+        paymentStatus: update.paymentStatus,
+        trackingNumber: update.trackingNumber,
+        estimatedDeliveryDate: update.estimatedDeliveryDate,
+        deliveredDate: update.deliveredDate,
+        lastUpdated: update.lastUpdated,
+      });
+    };
+    ['status', 'payment', 'tracking'].forEach((type) => source.addEventListener(type, applyEvent));
+    return () => source.close();
+  }, [id]);
+
   const fetchOrderDetails = async () => {
     try {
       setLoading(true);
@@ -1,6 +1,6 @@
 import React, { useState, useEffect } from 'react';
 import { useNavigate } from 'react-router-dom';
-import { orderAPI } from '../services/api';
+import { orderAPI, nextCursor } from '../services/api';
 
 const Orders = () => {
   const navigate = useNavigate();
@@ -9,6 +9,8 @@ const Orders = () => {
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState(null);
   const [stats, setStats] = useState(null);
+  const [cursor, setCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   
   // Filter states
   const [statusFilter, setStatusFilter] = useState('ALL');
@@ -28,6 +30,7 @@ const Orders = () => {
       setLoading(true);
       const response = await orderAPI.getAllOrders();
       setOrders(response.data);
+      setCursor(nextCursor(response));
       setError(null);
     } catch (err) {
       console.error('Error fetching orders:', err);
@@ -37,6 +40,20 @@ const Orders = () => {
     }
   };
 
+  // Filters and search run over the pages loaded so far
+  const loadMoreOrders = async () => {
+    try {
+      setLoadingMore(true);
+      const response = await orderAPI.getAllOrders({ cursor });
+      setOrders((current) => [...current, ...response.data]);
+      setCursor(nextCursor(response));
+    } catch (err) {
+      console.error('Error loading more orders:', err);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const fetchStats = async () => {
     try {
       const response = await orderAPI.getOrderStatistics();
@@ -296,6 +313,18 @@ const Orders = () => {
             </div>
           </div>
         )}
+
+        {cursor && (
+          <div className="flex justify-center mt-8">
+            <button
+              onClick={loadMoreOrders}
+              disabled={loadingMore}
+              className="bg-sky-500 hover:bg-sky-600 text-white font-bold py-3 px-8 rounded-2xl shadow-lg hover:shadow-xl transform hover:-translate-y-1 transition-all duration-300 disabled:opacity-50 disabled:cursor-not-allowed"
+            >
+              {loadingMore ? 'Loading...' : 'Load more orders'}
+            </button>
+          </div>
+        )}
       </div>
     </div>
   );
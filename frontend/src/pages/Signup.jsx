@@ -1,6 +1,7 @@
-import React, { useState } from 'react';
+import React, { useEffect, useState } from 'react';
 import { useNavigate, Link } from 'react-router-dom';
 import { useAuth } from '../context/AuthContext';
+import { authAPI } from '../services/api';
 
 const Signup = () => {
   const navigate = useNavigate();
@@ -16,6 +17,24 @@ const Signup = () => {
   });
   const [error, setError] = useState('');
   const [loading, setLoading] = useState(false);
+  const [availability, setAvailability] = useState({});
+
+  // Check username/email availability once the user pauses typing
+  useEffect(() => {
+    const params = {};
+    if (formData.username.trim()) params.username = formData.username.trim();
+    if (formData.email.includes('@')) params.email = formData.email.trim();
+    if (!params.username && !params.email) {
+      setAvailability({});
+      return undefined;
+    }
+    const timer = setTimeout(() => {
+      authAPI.checkAvailability(params)
+        .then((response) => setAvailability(response.data))
+        .catch(() => setAvailability({}));
+    }, 400);
+    return () => clearTimeout(timer);
+  }, [formData.username, formData.email]);
 
   const handleChange = (e) => {
     setFormData({
@@ -107,6 +126,9 @@ const Signup = () => {
                     className="w-full pl-12 pr-4 py-4 bg-white/60 backdrop-blur-sm border-2 border-sky-100 rounded-2xl focus:border-sky-400 focus:outline-none focus:ring-4 focus:ring-sky-100/50 transition-all duration-300 text-lg placeholder-gray-400 shadow-lg hover:shadow-xl"
                   />
                 </div>
+                {availability.username === false && (
+                  <p className="mt-2 text-sm font-semibold text-red-600">Username is already taken</p>
+                )}
               </div>
 
               {/* Email */}
@@ -129,6 +151,9 @@ const Signup = () => {
                     className="w-full pl-12 pr-4 py-4 bg-white/60 backdrop-blur-sm border-2 border-sky-100 rounded-2xl focus:border-sky-400 focus:outline-none focus:ring-4 focus:ring-sky-100/50 transition-all duration-300 text-lg placeholder-gray-400 shadow-lg hover:shadow-xl"
                   />
                 </div>
+                {availability.email === false && (
+                  <p className="mt-2 text-sm font-semibold text-red-600">Email is already in use</p>
+                )}
               </div>
             </div>
 
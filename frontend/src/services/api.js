@@ -9,11 +9,14 @@ const api = axios.create({
   },
 });
 
+// List endpoints return one page at a time; pass this back as `cursor` to get the next one
+export const nextCursor = (response) => response.headers['x-next-cursor'] || null;
+
 export const productAPI = {
-  getAllProducts: () => api.get('/products'),
+  getAllProducts: (cursor) => api.get('/products', { params: { cursor } }),
   getProductById: (id) => api.get(`/products/${id}`),
-  getProductsByCategory: (categoryId) => api.get(`/products?categoryId=${categoryId}`),
-  searchProducts: (keyword) => api.get(`/products?search=${keyword}`),
+  getProductsByCategory: (categoryId, cursor) => api.get('/products', { params: { categoryId, cursor } }),
+  searchProducts: (keyword, cursor) => api.get('/products', { params: { search: keyword, cursor } }),
 };
 
 export const categoryAPI = {
@@ -34,6 +37,12 @@ export const orderAPI = {
   updateOrderStatus: (id, status) => api.patch(`/orders/${id}/status`, { status }),
   updatePaymentStatus: (id, paymentStatus) => api.patch(`/orders/${id}/payment-status`, { paymentStatus }),
   updateTracking: (id, trackingData) => api.patch(`/orders/${id}/tracking`, trackingData),
+  subscribeToOrder: (id) => new EventSource(`${API_BASE_URL}/orders/${id}/events`),
+  subscribeToCustomer: (email) => new EventSource(`${API_BASE_URL}/orders/events?email=${encodeURIComponent(email)}`),
+};
+
+export const authAPI = {
+  checkAvailability: (params) => api.get('/auth/availability', { params }),
 };
 
 export default api;
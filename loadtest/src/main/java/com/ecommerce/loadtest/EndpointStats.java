@@ -0,0 +1,71 @@
+package com.ecommerce.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and error figures for one endpoint. Latencies are recorded in microseconds from the
+ * moment the request was due to start, so time spent queued behind a slow server counts.
+ */
+final class EndpointStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    final String name;
+
+    private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+    private final Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+    private final Map<String, LongAdder> errorsByCause = new ConcurrentHashMap<>();
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    void recordSuccess(long latencyNanos) {
+        recorder.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+    }
+
+    void recordError(long latencyNanos, String cause) {
+        recordSuccess(latencyNanos);
+        errors.increment();
+        errorsByCause.computeIfAbsent(cause, k -> new LongAdder()).increment();
+    }
+
+    // Called from the reporting thread only; folds the interval into the run total
+    synchronized Histogram takeInterval() {
+        Histogram interval = recorder.getIntervalHistogram();
+        interval.setTag(name);
+        total.add(interval);
+        return interval;
+    }
+
+    synchronized Histogram total() {
+        return total;
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    Map<String, Long> errorsByCause() {
+        Map<String, Long> result = new TreeMap<>();
+        errorsByCause.forEach((cause, count) -> result.put(cause, count.sum()));
+        return result;
+    }
+
+    void reset() {
+        recorder.reset();
+        synchronized (this) {
+            total.reset();
+        }
+        errors.reset();
+        errorsByCause.clear();
+    }
+}
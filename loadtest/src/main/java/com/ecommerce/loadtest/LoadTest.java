@@ -0,0 +1,241 @@
+package com.ecommerce.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Load generator for a running backend. In open-loop mode flows are started at a fixed rate
+ * whether or not earlier ones have finished, and latency is measured from the scheduled start,
+ * so a saturated server shows up as growing latency instead of a silently lower request rate.
+ * Start the backend with the h2 profile and rate limiting off, e.g.
+ * {@code mvn spring-boot:run -Dspring-boot.run.profiles=h2 -Dspring-boot.run.arguments=--rate-limit.enabled=false}.
+ */
+public final class LoadTest {
+
+    private final Options options;
+    private final Scenario scenario;
+    private final String[] flows;
+    private final int[] cumulativeWeights;
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicBoolean measuring = new AtomicBoolean();
+
+    private volatile long measureStartNanos;
+
+    private LoadTest(Options options) {
+        this.options = options;
+        this.scenario = new Scenario(options.baseUrl, HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(Math.max(2, options.concurrency / 4), runnable -> {
+                    Thread thread = new Thread(runnable, "http-client");
+                    thread.setDaemon(true);
+                    return thread;
+                }))
+                .build());
+
+        List<String> names = new ArrayList<>();
+        List<Integer> sums = new ArrayList<>();
+        int sum = 0;
+        for (Map.Entry<String, Integer> entry : options.mix.entrySet()) {
+            if (!Scenario.FLOWS.contains(entry.getKey())) {
+                throw new IllegalArgumentException("Unknown flow in mix: " + entry.getKey() + ", expected one of " + Scenario.FLOWS);
+            }
+            if (entry.getValue() > 0) {
+                sum += entry.getValue();
+                names.add(entry.getKey());
+                sums.add(sum);
+            }
+        }
+        if (names.isEmpty()) {
+            throw new IllegalArgumentException("The flow mix is empty");
+        }
+        this.flows = names.toArray(new String[0]);
+        this.cumulativeWeights = sums.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 1 && (args[0].equals("--help") || args[0].equals("-h"))) {
+            System.out.print(Options.USAGE);
+            return;
+        }
+        new LoadTest(Options.parse(args)).run();
+    }
+
+    private void run() throws Exception {
+        scenario.prepare();
+        System.out.printf(Locale.ROOT, "Load test against %s: %s, %d workers, warmup %ds, duration %ds%n",
+                options.baseUrl, options.rate > 0 ? options.rate + " flows/s open loop" : "closed loop",
+                options.concurrency, options.warmup.toSeconds(), options.duration.toSeconds());
+
+        // Backlog is bounded so an overwhelmed server cannot exhaust the generator's memory
+        ThreadPoolExecutor workers = new ThreadPoolExecutor(options.concurrency, options.concurrency,
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(Math.max(1000, options.concurrency * 100)));
+
+        File logFile = new File(options.hdrLog);
+        if (logFile.getParentFile() != null) {
+            logFile.getParentFile().mkdirs();
+        }
+        HistogramLogWriter logWriter = new HistogramLogWriter(logFile);
+        long logStart = System.currentTimeMillis();
+        logWriter.outputLogFormatVersion();
+        logWriter.outputStartTime(logStart);
+        logWriter.setBaseTime(logStart);
+        logWriter.outputLegend();
+
+        long start = System.nanoTime();
+        long warmupEnd = start + options.warmup.toNanos();
+        long end = warmupEnd + options.duration.toNanos();
+
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+        long intervalMillis = options.reportInterval.toMillis();
+        reporter.scheduleAtFixedRate(() -> report(logWriter, warmupEnd), intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+
+        if (options.rate > 0) {
+            runOpenLoop(workers, start, end, warmupEnd);
+        } else {
+            runClosedLoop(workers, end, warmupEnd);
+        }
+
+        workers.shutdown();
+        workers.awaitTermination(60, TimeUnit.SECONDS);
+        reporter.shutdown();
+        reporter.awaitTermination(10, TimeUnit.SECONDS);
+        long measuredNanos = System.nanoTime() - measureStartNanos;
+        synchronized (this) {
+            for (EndpointStats stats : scenario.stats()) {
+                Histogram interval = stats.takeInterval();
+                logWriter.outputIntervalHistogram(interval);
+            }
+        }
+        logWriter.close();
+
+        printSummary(measuredNanos);
+    }
+
+    private void runOpenLoop(ThreadPoolExecutor workers, long start, long end, long warmupEnd) {
+        long periodNanos = (long) (TimeUnit.SECONDS.toNanos(1) / options.rate);
+        for (long i = 0; ; i++) {
+            long scheduled = start + i * periodNanos;
+            if (scheduled >= end) {
+                break;
+            }
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            startMeasuringIfDue(warmupEnd);
+            String flow = nextFlow();
+            try {
+                workers.execute(() -> scenario.run(flow, scheduled));
+            } catch (RejectedExecutionException e) {
+                if (measuring.get()) {
+                    dropped.increment();
+                }
+            }
+        }
+    }
+
+    private void runClosedLoop(ThreadPoolExecutor workers, long end, long warmupEnd) throws InterruptedException {
+        for (int i = 0; i < options.concurrency; i++) {
+            workers.execute(() -> {
+                while (System.nanoTime() < end) {
+                    scenario.run(nextFlow(), System.nanoTime());
+                }
+            });
+        }
+        while (System.nanoTime() < end) {
+            startMeasuringIfDue(warmupEnd);
+            Thread.sleep(10);
+        }
+    }
+
+    // Everything recorded during warmup is discarded once the warmup period is over
+    private void startMeasuringIfDue(long warmupEnd) {
+        if (!measuring.get() && System.nanoTime() >= warmupEnd && measuring.compareAndSet(false, true)) {
+            synchronized (this) {
+                scenario.stats().forEach(EndpointStats::reset);
+                measureStartNanos = System.nanoTime();
+            }
+            System.out.println("Warmup finished, recording");
+        }
+    }
+
+    private synchronized void report(HistogramLogWriter logWriter, long warmupEnd) {
+        if (!measuring.get()) {
+            return;
+        }
+        long requests = 0;
+        long errors = 0;
+        double worstP99 = 0;
+        for (EndpointStats stats : scenario.stats()) {
+            Histogram interval = stats.takeInterval();
+            logWriter.outputIntervalHistogram(interval);
+            requests += interval.getTotalCount();
+            worstP99 = Math.max(worstP99, interval.getValueAtPercentile(99) / 1000.0);
+        }
+        for (EndpointStats stats : scenario.stats()) {
+            errors += stats.errors();
+        }
+        double seconds = options.reportInterval.toMillis() / 1000.0;
+        System.out.printf(Locale.ROOT, "[%4ds] %8.1f req/s, worst endpoint p99 %8.2f ms, errors so far %d, dropped %d%n",
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - warmupEnd), requests / seconds, worstP99, errors, dropped.sum());
+    }
+
+    private void printSummary(long measuredNanos) {
+        double seconds = measuredNanos / 1e9;
+        List<EndpointStats> endpoints = new ArrayList<>(scenario.stats());
+        endpoints.sort(Comparator.comparing(stats -> stats.name));
+
+        System.out.println();
+        System.out.printf(Locale.ROOT, "%-36s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "Endpoint (latency in ms)", "count", "errors", "req/s", "p50", "p95", "p99", "p99.9", "max");
+        for (EndpointStats stats : endpoints) {
+            Histogram total = stats.total();
+            System.out.printf(Locale.ROOT, "%-36s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    stats.name, total.getTotalCount(), stats.errors(), total.getTotalCount() / seconds,
+                    total.getValueAtPercentile(50) / 1000.0, total.getValueAtPercentile(95) / 1000.0,
+                    total.getValueAtPercentile(99) / 1000.0, total.getValueAtPercentile(99.9) / 1000.0,
+                    total.getMaxValue() / 1000.0);
+        }
+
+        for (EndpointStats stats : endpoints) {
+            if (stats.errors() > 0) {
+                System.out.printf(Locale.ROOT, "Errors for %s: %s%n", stats.name, stats.errorsByCause());
+            }
+        }
+        if (dropped.sum() > 0) {
+            System.out.printf(Locale.ROOT, "%d flows were dropped because the generator's backlog was full%n", dropped.sum());
+        }
+        System.out.println("Interval histograms written to " + options.hdrLog);
+    }
+
+    private String nextFlow() {
+        int roll = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return flows[i];
+            }
+        }
+        return flows[flows.length - 1];
+    }
+}
@@ -0,0 +1,86 @@
+package com.ecommerce.loadtest;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Command line options, all given as {@code --name=value}.
+ */
+final class Options {
+
+    static final String USAGE = """
+            Usage: java -jar loadtest.jar [--name=value ...]
+              --base-url=http://localhost:8080   backend to test
+              --rate=100                         flows started per second (open loop); 0 = closed loop
+              --concurrency=64                   worker threads, i.e. maximum flows in flight
+              --duration=60s                     measured run time
+              --warmup=10s                       run time before recording starts
+              --mix=browse:35,category:20,search:15,detail:15,account:5,checkout:8,admin:2
+                                                 relative weight of each flow
+              --report-interval=5s               progress and histogram log interval
+              --hdr-log=target/loadtest.hlog     interval histograms per endpoint (HdrHistogram log format)
+            """;
+
+    final String baseUrl;
+    final double rate;
+    final int concurrency;
+    final Duration duration;
+    final Duration warmup;
+    final Map<String, Integer> mix;
+    final Duration reportInterval;
+    final String hdrLog;
+
+    private Options(Map<String, String> values) {
+        baseUrl = trimSlash(values.getOrDefault("base-url", "http://localhost:8080"));
+        rate = Double.parseDouble(values.getOrDefault("rate", "100"));
+        concurrency = Integer.parseInt(values.getOrDefault("concurrency", "64"));
+        duration = parseDuration(values.getOrDefault("duration", "60s"));
+        warmup = parseDuration(values.getOrDefault("warmup", "10s"));
+        mix = parseMix(values.getOrDefault("mix", "browse:35,category:20,search:15,detail:15,account:5,checkout:8,admin:2"));
+        reportInterval = parseDuration(values.getOrDefault("report-interval", "5s"));
+        hdrLog = values.getOrDefault("hdr-log", "target/loadtest.hlog");
+    }
+
+    static Options parse(String[] args) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Unrecognized argument: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return new Options(values);
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String[] pair = part.trim().split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry: " + part);
+            }
+            weights.put(pair[0], Integer.parseInt(pair[1]));
+        }
+        return weights;
+    }
+
+    // Accepts 500ms, 30s, 5m or a plain number of seconds
+    private static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value));
+    }
+
+    private static String trimSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
@@ -0,0 +1,217 @@
+package com.ecommerce.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The user flows replayed by the load test. A flow is a short sequence of requests made one
+ * after another; the first one is timed from the flow's scheduled start.
+ */
+final class Scenario {
+
+    static final List<String> FLOWS = List.of("browse", "category", "search", "detail", "account", "checkout", "admin");
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final HttpClient client;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+    private final Queue<Long> pendingOrders = new ConcurrentLinkedQueue<>();
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong userSequence = new AtomicLong();
+
+    private long[] productIds;
+    private long[] categoryIds;
+    private String[] searchTerms;
+
+    Scenario(String baseUrl, HttpClient client) {
+        this.baseUrl = baseUrl;
+        this.client = client;
+    }
+
+    // Loads ids and search terms from the running instance so flows hit real data
+    void prepare() throws IOException, InterruptedException {
+        JsonNode categories = mapper.readTree(send(get("/api/categories")).body());
+        List<Long> categoryList = new ArrayList<>();
+        categories.forEach(category -> categoryList.add(category.get("id").asLong()));
+
+        JsonNode products = mapper.readTree(send(get("/api/products?limit=200")).body());
+        List<Long> productList = new ArrayList<>();
+        Set<String> terms = new LinkedHashSet<>();
+        products.forEach(product -> {
+            productList.add(product.get("id").asLong());
+            for (String word : product.get("name").asText().toLowerCase().split("[^a-z0-9]+")) {
+                if (word.length() >= 3) {
+                    terms.add(word);
+                }
+            }
+        });
+        if (productList.isEmpty()) {
+            throw new IllegalStateException("No products found at " + baseUrl + "; seed the database first");
+        }
+        if (categoryList.isEmpty()) {
+            throw new IllegalStateException("No categories found at " + baseUrl + "; seed the database first");
+        }
+
+        productIds = productList.stream().mapToLong(Long::longValue).toArray();
+        categoryIds = categoryList.stream().mapToLong(Long::longValue).toArray();
+        searchTerms = terms.toArray(new String[0]);
+    }
+
+    Collection<EndpointStats> stats() {
+        return stats.values();
+    }
+
+    void run(String flow, long scheduledStart) {
+        switch (flow) {
+            case "browse" -> call("GET /api/products", get("/api/products?limit=50"), scheduledStart);
+            case "category" -> call("GET /api/products?categoryId", get("/api/products?categoryId=" + pick(categoryIds)), scheduledStart);
+            case "search" -> call("GET /api/products?search", get("/api/products?search="
+                    + URLEncoder.encode(searchTerms[ThreadLocalRandom.current().nextInt(searchTerms.length)], StandardCharsets.UTF_8)), scheduledStart);
+            case "detail" -> call("GET /api/products/{id}", get("/api/products/" + pick(productIds)), scheduledStart);
+            case "account" -> account(scheduledStart);
+            case "checkout" -> checkout(scheduledStart);
+            case "admin" -> admin(scheduledStart);
+            default -> throw new IllegalArgumentException("Unknown flow: " + flow);
+        }
+    }
+
+    private void account(long scheduledStart) {
+        String username = "lt" + runId + "u" + userSequence.incrementAndGet();
+        ObjectNode signup = mapper.createObjectNode()
+                .put("username", username)
+                .put("email", username + "@loadtest.local")
+                .put("password", "loadtest-password")
+                .put("fullName", "Load Test");
+        if (call("POST /api/auth/signup", post("/api/auth/signup", signup), scheduledStart) == null) {
+            return;
+        }
+        ObjectNode login = mapper.createObjectNode()
+                .put("username", username)
+                .put("password", "loadtest-password");
+        call("POST /api/auth/login", post("/api/auth/login", login), System.nanoTime());
+    }
+
+    private void checkout(long scheduledStart) {
+        long productId = pick(productIds);
+        if (call("GET /api/products/{id}", get("/api/products/" + productId), scheduledStart) == null) {
+            return;
+        }
+
+        ObjectNode order = mapper.createObjectNode()
+                .put("customerName", "Load Test")
+                .put("customerEmail", "buyer" + ThreadLocalRandom.current().nextInt(1000) + "@loadtest.local")
+                .put("customerPhone", "555-0100")
+                .put("shippingAddress", "1 Load Test Street");
+        ArrayNode items = order.putArray("orderItems");
+        int lines = 1 + ThreadLocalRandom.current().nextInt(3);
+        for (int i = 0; i < lines; i++) {
+            ObjectNode item = items.addObject();
+            item.putObject("product").put("id", i == 0 ? productId : pick(productIds));
+            item.put("quantity", 1);
+        }
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/orders"))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .header("Idempotency-Key", UUID.randomUUID().toString())
+                .POST(HttpRequest.BodyPublishers.ofString(order.toString()))
+                .build();
+        JsonNode created = call("POST /api/orders", request, System.nanoTime());
+        if (created != null && created.has("id")) {
+            pendingOrders.add(created.get("id").asLong());
+        }
+    }
+
+    // Confirms and marks paid one order created by an earlier checkout flow
+    private void admin(long scheduledStart) {
+        Long orderId = pendingOrders.poll();
+        if (orderId == null) {
+            call("GET /api/orders/stats", get("/api/orders/stats"), scheduledStart);
+            return;
+        }
+        ObjectNode status = mapper.createObjectNode().put("status", "CONFIRMED");
+        if (call("PATCH /api/orders/{id}/status", patch("/api/orders/" + orderId + "/status", status), scheduledStart) == null) {
+            return;
+        }
+        ObjectNode payment = mapper.createObjectNode().put("paymentStatus", "PAID");
+        call("PATCH /api/orders/{id}/payment-status", patch("/api/orders/" + orderId + "/payment-status", payment), System.nanoTime());
+    }
+
+    /**
+     * Sends the request and records its latency against the endpoint. Returns the parsed body,
+     * or null if the request failed or returned a non-2xx status.
+     */
+    private JsonNode call(String endpoint, HttpRequest request, long start) {
+        EndpointStats endpointStats = stats.computeIfAbsent(endpoint, EndpointStats::new);
+        try {
+            HttpResponse<String> response = send(request);
+            long latency = System.nanoTime() - start;
+            if (response.statusCode() / 100 != 2) {
+                endpointStats.recordError(latency, "HTTP " + response.statusCode());
+                return null;
+            }
+            endpointStats.recordSuccess(latency);
+            String body = response.body();
+            return body == null || body.isEmpty() ? mapper.nullNode() : mapper.readTree(body);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (IOException e) {
+            endpointStats.recordError(System.nanoTime() - start, e.getClass().getSimpleName());
+            return null;
+        }
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(TIMEOUT).GET().build();
+    }
+
+    private HttpRequest post(String path, JsonNode body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+    }
+
+    private HttpRequest patch(String path, JsonNode body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+    }
+
+    private static long pick(long[] ids) {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+}